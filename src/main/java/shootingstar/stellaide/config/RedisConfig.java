@@ -1,88 +1,76 @@
 package shootingstar.stellaide.config;
 
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
+/*
+  레디스 서버 하나에 연결하고, JWT, 메일 인증, 로그인 리스트는 키 접두사(RedisKeyspace)로 구분한다.
+  일반 명령은 공유 연결 하나로 처리하고, 파이프라인처럼 전용 연결이 필요한 작업은 연결 풀에서 빌려 사용한다.
+ */
 @Configuration
 public class RedisConfig {
     @Value("${spring.data.redis.host}")
     private String redisHost;
     @Value("${spring.data.redis.port}")
-    private int redisPort1; // jwt 레디스 포트
-    @Value("${spring.data.redis.port2}")
-    private int redisPort2; // mail 레디스 포트
-    @Value("${spring.data.redis.port3}")
-    private int redisPort3; // loginList 레디스 포트
+    private int redisPort;
     @Value("${spring.data.redis.password}")
     private String redisPassword;
+    @Value("${spring.data.redis.pool.max-active:16}")
+    private int poolMaxActive;
+    @Value("${spring.data.redis.pool.max-idle:8}")
+    private int poolMaxIdle;
+    @Value("${spring.data.redis.pool.min-idle:2}")
+    private int poolMinIdle;
+    @Value("${spring.data.redis.command-timeout:2000}")
+    private long commandTimeoutMillis;
 
-
-    // JWT 레디스 빈 등록
+    // 레디스 연결 빈 등록
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration redisConfiguration = new RedisStandaloneConfiguration();
         redisConfiguration.setHostName(redisHost);
-        redisConfiguration.setPort(redisPort1);
+        redisConfiguration.setPort(redisPort);
         redisConfiguration.setPassword(redisPassword);
-        return new LettuceConnectionFactory(redisConfiguration);
-    }
 
-    // mail 레디스 빈 등록
-    @Bean
-    public RedisConnectionFactory redisConnectionFactoryTwo() {
-        RedisStandaloneConfiguration redisConfiguration = new RedisStandaloneConfiguration();
-        redisConfiguration.setHostName(redisHost);
-        redisConfiguration.setPort(redisPort2);
-        redisConfiguration.setPassword(redisPassword);
-        return new LettuceConnectionFactory(redisConfiguration);
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(poolMaxActive);
+        poolConfig.setMaxIdle(poolMaxIdle);
+        poolConfig.setMinIdle(poolMinIdle);
+        LettucePoolingClientConfiguration clientConfiguration = LettucePoolingClientConfiguration.builder()
+                .poolConfig(poolConfig)
+                .commandTimeout(Duration.ofMillis(commandTimeoutMillis))
+                .build();
+        return new LettuceConnectionFactory(redisConfiguration, clientConfiguration);
     }
 
-    // login 레디스 빈 등록
-    @Bean
-    public RedisConnectionFactory redisConnectionFactoryThree() {
-        RedisStandaloneConfiguration redisConfiguration = new RedisStandaloneConfiguration();
-        redisConfiguration.setHostName(redisHost);
-        redisConfiguration.setPort(redisPort3);
-        redisConfiguration.setPassword(redisPassword);
-        return new LettuceConnectionFactory(redisConfiguration);
-    }
-
-    // JWT 레디스 템플릿 등록
-    @Bean
-    public RedisTemplate<?, ?> redisTemplate() {
-        RedisTemplate<?, ?> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactory());   //connection
-        redisTemplate.setKeySerializer(new StringRedisSerializer());    // key
-        redisTemplate.setValueSerializer(new StringRedisSerializer());  // value
-        return redisTemplate;
-    }
-
-    // mail 레디스 템플릿 등록
-    @Bean
-    public RedisTemplate<?, ?> redisTemplateTwo() {
-        RedisTemplate<?, ?> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactoryTwo());   //connection
-        redisTemplate.setKeySerializer(new StringRedisSerializer());    // key
-        redisTemplate.setValueSerializer(new StringRedisSerializer());  // value
-        return redisTemplate;
+    /*
+      레디스 템플릿 등록. 키, 값 모두 문자열로 직렬화한다.
+      채팅 메시지 발행, 전체 채팅 스트림도 같은 템플릿을 사용한다.
+     */
+    @Bean(name = {"redisTemplate", "chatRedisTemplate"})
+    public StringRedisTemplate redisTemplate() {
+        return new StringRedisTemplate(redisConnectionFactory());
     }
 
-    // loginList 레디스 템플릿 등록
+    // 채팅 채널 구독 컨테이너. 구독할 채널은 ChatClusterBus 가 채팅방 참여 상황에 따라 추가, 제거한다.
+    // 토큰 무효화 알림 채널(TokenRevocationList)도 같은 컨테이너로 구독한다.
     @Bean
-    public RedisTemplate<?, ?> redisTemplateThree() {
-        RedisTemplate<?, ?> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactoryThree());   //connection
-        redisTemplate.setKeySerializer(new StringRedisSerializer());    // key
-        redisTemplate.setValueSerializer(new StringRedisSerializer());  // value
-        return redisTemplate;
+    public RedisMessageListenerContainer chatMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
     }
 
     // 레디스에 저장되는 데이터 JSON 타입으로 직렬화
@@ -5,16 +5,21 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
-import org.springframework.web.socket.WebSocketHandler;
+import shootingstar.stellaide.handler.ChatHandshakeInterceptor;
+import shootingstar.stellaide.handler.ExecutionWebSocketHandler;
+import shootingstar.stellaide.handler.WebSocketChatHandler;
 
 @RequiredArgsConstructor
 @Configuration
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
-    private final WebSocketHandler webSocketHandler;
+    private final WebSocketChatHandler webSocketHandler;
+    private final ExecutionWebSocketHandler executionWebSocketHandler;
+    private final ChatHandshakeInterceptor chatHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(webSocketHandler, "/ws/chat").setAllowedOrigins("*");
+        registry.addHandler(webSocketHandler, "/ws/chat").addInterceptors(chatHandshakeInterceptor).setAllowedOrigins("*");
+        registry.addHandler(executionWebSocketHandler, "/ws/execution").setAllowedOrigins("*");
     }
 }
\ No newline at end of file
@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import shootingstar.stellaide.entity.chat.DirectChatRoom;
 import shootingstar.stellaide.entity.chat.DirectMiddleTable;
@@ -15,6 +17,8 @@ import shootingstar.stellaide.repository.chatRoom.dto.FindAllChatMessageByRoomId
 import shootingstar.stellaide.repository.chatRoom.dto.FindAllDmMessageByRoomIdDto;
 import shootingstar.stellaide.repository.chatRoom.dto.FindAllDmRoomByUserIdDto;
 import shootingstar.stellaide.service.ChatService;
+import shootingstar.stellaide.service.dto.ChatHistoryResDto;
+import shootingstar.stellaide.service.dto.GlobalChatHistoryResDto;
 
 import java.util.List;
 import java.util.UUID;
@@ -36,6 +40,27 @@ public class ChatController {
         return ResponseEntity.ok().body(findAllChatMessageByRoomIdDTOPage);
     }
 
+    /**
+     * 컨테이너 채팅 내역 불러오기 (커서 기반)
+     * beforeMessageId 가 없으면 가장 최근 메시지부터, 있으면 해당 메시지 이전부터 limit 건을 불러온다.
+     * 채팅방에 참여할 수 있는 사용자만 불러올 수 있다.
+     */
+    @GetMapping("/container/history")
+    public ResponseEntity<ChatHistoryResDto<FindAllChatMessageByRoomIdDto>> getContainerHistory(@AuthenticationPrincipal UserDetails userDetails,
+                                                                                               @NotNull @RequestParam("roomId") Long roomId,
+                                                                                               @RequestParam(value = "beforeMessageId", required = false) Long beforeMessageId,
+                                                                                               @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(chatService.getContainerMessageHistory(userDetails.getUsername(), roomId, beforeMessageId, limit));
+    }
+
+    /**
+     * 전체 채팅 내역 불러오기 (커서 기반)
+     */
+    @GetMapping("/global/history")
+    public ResponseEntity<GlobalChatHistoryResDto> getGlobalHistory(@RequestParam(value = "beforeMessageId", required = false) String beforeMessageId,
+                                                                    @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(chatService.getGlobalMessageHistory(beforeMessageId, limit));
+    }
 
     /**
      * DM 채팅방 목록 나열
@@ -57,6 +82,17 @@ public class ChatController {
         return ResponseEntity.ok().body(findAllDmMessageByRoomIdDTOPage);
     }
 
+    /**
+     * DM 채팅 내역 불러오기 (커서 기반)
+     */
+    @GetMapping("/dmChatRoom/history")
+    public ResponseEntity<ChatHistoryResDto<FindAllDmMessageByRoomIdDto>> getDmHistory(@AuthenticationPrincipal UserDetails userDetails,
+                                                                                      @RequestParam("chatRoomId") Long chatRoomId,
+                                                                                      @RequestParam(value = "beforeMessageId", required = false) Long beforeMessageId,
+                                                                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(chatService.getDmMessageHistory(userDetails.getUsername(), chatRoomId, beforeMessageId, limit));
+    }
+
     /**
      * DM 채팅방 생성
      */
@@ -5,19 +5,35 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shootingstar.stellaide.controller.dto.container.CreateContainerReqDto;
 import shootingstar.stellaide.controller.dto.container.AllContainerDto;
 import shootingstar.stellaide.controller.dto.container.*;
-import shootingstar.stellaide.exception.CustomException;
-import shootingstar.stellaide.exception.ErrorCode;
 import shootingstar.stellaide.service.ContainerService;
 import shootingstar.stellaide.service.dto.ContainerTreeResDto;
+import shootingstar.stellaide.service.dto.ExecutionJobResDto;
+import shootingstar.stellaide.service.dto.FileContentInfoDto;
 import shootingstar.stellaide.service.dto.GetRoomResDto;
+import shootingstar.stellaide.service.dto.SaveFileResDto;
 import shootingstar.stellaide.service.dto.SpringContainerResDto;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Validated
 @RestController
 @RequiredArgsConstructor
@@ -27,47 +43,38 @@ public class ContainerController {
     private final ContainerService containerService;
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchContainers(HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        AllContainerDto containers = containerService.getContainer(accessToken);
+    public ResponseEntity<?> searchContainers(@AuthenticationPrincipal UserDetails userDetails) {
+        AllContainerDto containers = containerService.getContainer(userDetails.getUsername());
         return ResponseEntity.ok().body(containers);
     }
 
     @PostMapping("/create")
     public ResponseEntity<ContainerDto> createContainer(@Valid @RequestBody CreateContainerReqDto reqDto,
-                                                  HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        ContainerDto containerDto = containerService.createContainer(reqDto.getContainerType(), reqDto.getContainerName(), reqDto.getContainerDescription(), accessToken);
+                                                  @AuthenticationPrincipal UserDetails userDetails) {
+        ContainerDto containerDto = containerService.createContainer(reqDto.getContainerType(), reqDto.getContainerName(), reqDto.getContainerDescription(), userDetails.getUsername());
         return ResponseEntity.ok().body(containerDto);
     }
 
     @PatchMapping("/edit")
     public ResponseEntity<String> editContainer(@Valid @RequestBody EditContainerReqDto reqDto,
-                                                HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        containerService.editContainer(reqDto.getContainerId(), reqDto.getContainerDescription(), accessToken);
+                                                @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.editContainer(reqDto.getContainerId(), reqDto.getContainerDescription(), userDetails.getUsername());
 
         return ResponseEntity.ok().body("컨테이너 수정이 성공하였습니다.");
     }
 
     @DeleteMapping("/delete/{containerId}")
     public ResponseEntity<String> deleteContainer(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId,
-                                                  HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        containerService.deleteContainer(containerId, accessToken);
+                                                  @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.deleteContainer(containerId, userDetails.getUsername());
 
         return ResponseEntity.ok().body("컨테이너 삭제에 성공하였습니다.");
     }
 
     @PostMapping("/share")
     public ResponseEntity<String> shareContainer(@Valid @RequestBody ShareContainerReqDto reqDto,
-                                                 HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        containerService.shareContainer(reqDto.getContainerId(), reqDto.getUserNickname(), accessToken);
+                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.shareContainer(reqDto.getContainerId(), reqDto.getUserNickname(), userDetails.getUsername());
 
         return ResponseEntity.ok().body("컨테이너 공유에 성공하였습니다.");
     }
@@ -75,134 +82,196 @@ public class ContainerController {
     @DeleteMapping("/unshare/{containerId}/{userNickname}")
     public ResponseEntity<String> unshareContainer(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId,
                                                    @NotBlank @PathVariable("userNickname") String userNickname,
-                                                   HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        containerService.cancelContainerSharing(containerId, userNickname, accessToken);
+                                                   @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.cancelContainerSharing(containerId, userNickname, userDetails.getUsername());
 
         return ResponseEntity.ok().body("컨테이너 공유 해제에 성공하였습니다.");
     }
 
     @GetMapping("/type/{containerId}")
-    public ResponseEntity<String> getContainerType(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        String containerType = containerService.getContainerType(containerId, accessToken);
+    public ResponseEntity<String> getContainerType(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId, @AuthenticationPrincipal UserDetails userDetails) {
+        String containerType = containerService.getContainerType(containerId, userDetails.getUsername());
         return ResponseEntity.ok().body(containerType);
     }
 
     @GetMapping("/treeInfo/{containerId}")
-    public ResponseEntity<ContainerTreeResDto> getTreeInfo(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        ContainerTreeResDto treeInfo = containerService.getTreeInfo(containerId, accessToken);
+    public ResponseEntity<ContainerTreeResDto> getTreeInfo(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId, @AuthenticationPrincipal UserDetails userDetails) {
+        ContainerTreeResDto treeInfo = containerService.getTreeInfo(containerId, userDetails.getUsername());
         return ResponseEntity.ok().body(treeInfo);
     }
 
+    /*
+      파일 내용을 SFTP 에서 읽는 대로 응답으로 흘려보낸다.
+      Range 요청(bytes=start-end, 단일 구간)을 지원해 큰 파일은 필요한 부분만 나눠 받을 수 있고,
+      파일 크기와 수정 시각은 Content-Length / Content-Range 와 Last-Modified 헤더로 먼저 전달된다.
+      내용의 해시는 ETag 로 전달되어 이후 변경분 저장의 baseHash 로 쓸 수 있다.
+     */
     @GetMapping("/fileContent")
-    public ResponseEntity<String> getFileContent(@Valid @ModelAttribute FileContentReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        String fileContent = containerService.getFileContent(reqDto.getContainerId(), reqDto.getFilePath(), accessToken);
-        return ResponseEntity.ok().body(fileContent);
+    public ResponseEntity<StreamingResponseBody> getFileContent(@Valid @ModelAttribute FileContentReqDto reqDto,
+                                                                @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                                                                @AuthenticationPrincipal UserDetails userDetails) {
+        FileContentInfoDto fileInfo = containerService.getFileContentInfo(reqDto.getContainerId(), reqDto.getFilePath(), userDetails.getUsername());
+        long size = fileInfo.getSize();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setLastModified(fileInfo.getLastModifiedMillis());
+        if (fileInfo.getHash() != null) {
+            headers.setETag("\"" + fileInfo.getHash() + "\"");
+        }
+        headers.setContentType(MediaTypeFactory.getMediaType(fileInfo.getFilePath())
+                .orElse(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8)));
+
+        HttpRange range = parseSingleRange(rangeHeader);
+        if (range == null) {
+            headers.setContentLength(size);
+            return ResponseEntity.ok().headers(headers)
+                    .body(out -> containerService.writeFileContent(fileInfo, 0, size, out));
+        }
+
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        long length = end - start + 1;
+        headers.setContentLength(length);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers)
+                .body(out -> containerService.writeFileContent(fileInfo, start, length, out));
     }
 
+    // 저장된 내용의 해시를 ETag 로 함께 돌려주어 다음 저장을 변경분 저장으로 보낼 수 있게 한다.
     @PostMapping("/saveFile")
-    public ResponseEntity<String> saveFile(@RequestBody @Valid SaveFileReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.saveFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), reqDto.getFileContent(), accessToken);
+    public ResponseEntity<String> saveFile(@RequestBody @Valid SaveFileReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        SaveFileResDto resDto = containerService.saveFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), reqDto.getFileContent(), userDetails.getUsername());
+        return ResponseEntity.ok().eTag(resDto.getHash()).body("컨테이너 파일 저장에 성공하였습니다.");
+    }
+
+    @PostMapping("/saveFile/delta")
+    public ResponseEntity<SaveFileResDto> saveFileDelta(@RequestBody @Valid SaveFileDeltaReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        SaveFileResDto resDto = containerService.saveFileDelta(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(),
+                reqDto.getBaseHash(), reqDto.getEdits(), userDetails.getUsername());
+        return ResponseEntity.ok().eTag(resDto.getHash()).body(resDto);
+    }
+
+    /*
+      요청 본문(raw bytes)을 그대로 파일 내용으로 저장한다.
+      JSON 으로 감싸지 않으므로 본문 전체를 문자열로 올리지 않고 SFTP 로 바로 흘려보낸다.
+     */
+    @PutMapping("/fileContent")
+    public ResponseEntity<String> saveFileStream(@Valid @ModelAttribute SaveFileStreamReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails, @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        containerService.saveFileStream(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), request.getInputStream(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 파일 저장에 성공하였습니다.");
     }
 
     @PostMapping("/createFile")
-    public ResponseEntity<String> createFile(@RequestBody @Valid CreateFileReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.createFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), accessToken);
+    public ResponseEntity<String> createFile(@RequestBody @Valid CreateFileReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.createFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 파일 생성에 성공하였습니다.");
     }
 
     @PostMapping("/createDirectory")
-    public ResponseEntity<String> createDirectory(@RequestBody @Valid CreateDirectoryReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.createDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), accessToken);
+    public ResponseEntity<String> createDirectory(@RequestBody @Valid CreateDirectoryReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.createDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 디렉토리 생성에 성공하였습니다.");
     }
 
     @PostMapping("/copyFile")
-    public ResponseEntity<String> copyFile(@RequestBody @Valid CreateFileReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.copyFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), accessToken);
+    public ResponseEntity<String> copyFile(@RequestBody @Valid CreateFileReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.copyFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), userDetails.getUsername());
         return ResponseEntity.ok("");
     }
 
     @PostMapping("/copyDirectory")
-    public ResponseEntity<String> copyDirectory(@RequestBody @Valid CreateDirectoryReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.copyDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), accessToken);
+    public ResponseEntity<String> copyDirectory(@RequestBody @Valid CreateDirectoryReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.copyDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), userDetails.getUsername());
         return ResponseEntity.ok("");
     }
 
     @PostMapping("/moveFile")
-    public ResponseEntity<String> moveFile(@RequestBody @Valid MoveFileReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.moveFile(reqDto.getContainerId(), reqDto.getCurrentPath(), reqDto.getMovedPath(), reqDto.getFileName(), accessToken);
+    public ResponseEntity<String> moveFile(@RequestBody @Valid MoveFileReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.moveFile(reqDto.getContainerId(), reqDto.getCurrentPath(), reqDto.getMovedPath(), reqDto.getFileName(), userDetails.getUsername());
         return ResponseEntity.ok("");
     }
 
     @PostMapping("/moveDirectory")
-    public ResponseEntity<String> moveDirectory(@RequestBody @Valid MoveDirectoryReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.moveDirectory(reqDto.getContainerId(), reqDto.getCurrentPath(), reqDto.getMovedPath(), reqDto.getDirectoryName(), accessToken);
+    public ResponseEntity<String> moveDirectory(@RequestBody @Valid MoveDirectoryReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.moveDirectory(reqDto.getContainerId(), reqDto.getCurrentPath(), reqDto.getMovedPath(), reqDto.getDirectoryName(), userDetails.getUsername());
         return ResponseEntity.ok("");
     }
 
     @PostMapping("/renameFile")
-    public ResponseEntity<String> renameFile(@RequestBody @Valid RenameFileReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.renameFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), reqDto.getChangeName(), accessToken);
+    public ResponseEntity<String> renameFile(@RequestBody @Valid RenameFileReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.renameFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), reqDto.getChangeName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 파일 이름 변경에 성공하였습니다.");
     }
 
     @PostMapping("/renameDirectory")
-    public ResponseEntity<String> renameDirectory(@RequestBody @Valid RenameDirectoryReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.renameDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), reqDto.getChangeName(), accessToken);
+    public ResponseEntity<String> renameDirectory(@RequestBody @Valid RenameDirectoryReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.renameDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), reqDto.getChangeName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 디렉토리 이름 변경에 성공하였습니다.");
     }
 
     @DeleteMapping("/deleteFile")
     public ResponseEntity<String> deleteFile(@ModelAttribute @Valid CreateFileReqDto reqDto,
-                                             HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.deleteFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), accessToken);
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.deleteFile(reqDto.getContainerId(), reqDto.getPath(), reqDto.getFileName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 파일 삭제에 성공하였습니다.");
     }
 
     @DeleteMapping("/deleteDirectory")
     public ResponseEntity<String> deleteDirectory(@ModelAttribute @Valid CreateDirectoryReqDto reqDto,
-                                                  HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        containerService.deleteDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), accessToken);
+                                                  @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.deleteDirectory(reqDto.getContainerId(), reqDto.getPath(), reqDto.getDirectoryName(), userDetails.getUsername());
         return ResponseEntity.ok("컨테이너 디렉토리 삭제에 성공하였습니다.");
     }
 
     @PostMapping("/execution")
-    public ResponseEntity<String> executionFile(@RequestBody @Valid ExecutionFileReqDto reqDto) {
-        String output = containerService.executionFile(reqDto.getContainerId(), reqDto.getPath());
-        return ResponseEntity.ok(output);
+    public DeferredResult<ResponseEntity<String>> executionFile(@RequestBody @Valid ExecutionFileReqDto reqDto,
+                                                                @AuthenticationPrincipal UserDetails userDetails) {
+        CompletableFuture<String> output = containerService.executionFile(reqDto.getContainerId(), reqDto.getPath(), userDetails.getUsername());
+        return toDeferredResult(output);
+    }
+
+    @PostMapping("/execution/job")
+    public ResponseEntity<ExecutionJobResDto> submitExecutionJob(@RequestBody @Valid ExecutionFileReqDto reqDto,
+                                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        ExecutionJobResDto res = containerService.submitExecutionFile(reqDto.getContainerId(), reqDto.getPath(), userDetails.getUsername());
+        return ResponseEntity.ok().body(res);
+    }
+
+    @GetMapping("/execution/job/{jobId}")
+    public ResponseEntity<ExecutionJobResDto> getExecutionJob(@Size(min = 36, max = 36) @PathVariable("jobId") String jobId,
+                                                              @AuthenticationPrincipal UserDetails userDetails) {
+        ExecutionJobResDto res = containerService.getExecutionJob(jobId, userDetails.getUsername());
+        return ResponseEntity.ok().body(res);
+    }
+
+    @DeleteMapping("/execution/job/{jobId}")
+    public ResponseEntity<String> cancelExecutionJob(@Size(min = 36, max = 36) @PathVariable("jobId") String jobId,
+                                                     @AuthenticationPrincipal UserDetails userDetails) {
+        containerService.cancelExecutionJob(jobId, userDetails.getUsername());
+        return ResponseEntity.ok("실행 작업 취소에 성공하였습니다.");
     }
 
     @GetMapping("/getRoomId/{containerId}")
     public ResponseEntity<GetRoomResDto> getRoomId(@Size(min = 36, max = 36) @PathVariable("containerId") String containerId,
-                                                   HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-        GetRoomResDto roomInfo = containerService.getRoomInfo(containerId, accessToken);
+                                                   @AuthenticationPrincipal UserDetails userDetails) {
+        GetRoomResDto roomInfo = containerService.getRoomInfo(containerId, userDetails.getUsername());
         return ResponseEntity.ok().body(roomInfo);
     }
 
     @PostMapping("/execution/spring")
-    public ResponseEntity<SpringContainerResDto> executionSpring(@RequestBody @Valid ExecutionSpringReqDto reqDto) {
-        SpringContainerResDto res = containerService.executionSpring(reqDto.getContainerId());
-        return ResponseEntity.ok().body(res);
+    public DeferredResult<ResponseEntity<SpringContainerResDto>> executionSpring(@RequestBody @Valid ExecutionSpringReqDto reqDto,
+                                                                                 @AuthenticationPrincipal UserDetails userDetails) {
+        CompletableFuture<SpringContainerResDto> res = containerService.executionSpring(reqDto.getContainerId(), userDetails.getUsername());
+        return toDeferredResult(res);
     }
 
     @PostMapping("/stop/spring")
@@ -211,14 +280,30 @@ public class ContainerController {
         return ResponseEntity.ok().body("");
     }
 
-    private static String getTokenFromHeader(HttpServletRequest request) {
-        String token = request.getHeader("Authorization"); // 헤더에 존재하는 엑세스 토큰을 받아온다.
-
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7); // "Bearer " 접두어 제거
-        } else {
-            throw new CustomException(ErrorCode.INVALID_ACCESS_TOKEN);
+    // 잘못되었거나 여러 구간을 요청한 Range 헤더는 무시하고 전체 내용을 응답한다.
+    private static HttpRange parseSingleRange(String rangeHeader) {
+        if (rangeHeader == null) return null;
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        return token;
+    }
+
+    /*
+      실행 작업이 끝나면 응답한다. 대기 시간과 실행 시간은 실행 스케줄러가 제한하므로 요청 시간 제한은 두지 않는다(0).
+      작업 중 발생한 예외는 예외 처리기로 넘겨 동기 응답과 같은 오류 응답을 돌려준다.
+     */
+    private static <T> DeferredResult<ResponseEntity<T>> toDeferredResult(CompletableFuture<T> future) {
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(0L);
+        future.whenComplete((body, e) -> {
+            if (e == null) {
+                result.setResult(ResponseEntity.ok().body(body));
+            } else {
+                result.setErrorResult(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return result;
     }
 }
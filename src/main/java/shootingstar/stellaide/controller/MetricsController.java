@@ -0,0 +1,115 @@
+package shootingstar.stellaide.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import shootingstar.stellaide.security.jwt.TokenRevocationList;
+import shootingstar.stellaide.security.jwt.TokenRevocationMetrics;
+import shootingstar.stellaide.security.jwt.VerifiedTokenCache;
+import shootingstar.stellaide.util.activity.LoginActivityMetrics;
+import shootingstar.stellaide.util.activity.LoginActivityTracker;
+import shootingstar.stellaide.util.cache.CacheStats;
+import shootingstar.stellaide.util.chat.ChatMessageSender;
+import shootingstar.stellaide.util.chat.ChatMessageWriter;
+import shootingstar.stellaide.util.chat.ChatOutboundMetrics;
+import shootingstar.stellaide.util.chat.ChatPersistMetrics;
+import shootingstar.stellaide.util.chat.ChatRoomCache;
+import shootingstar.stellaide.util.chat.RecentMessageBuffer;
+import shootingstar.stellaide.util.execution.ExecutionScheduler;
+import shootingstar.stellaide.util.execution.ExecutionSchedulerMetrics;
+import shootingstar.stellaide.util.file.ContainerTreeCache;
+import shootingstar.stellaide.util.file.FileContentCache;
+import shootingstar.stellaide.util.metrics.LatencySnapshot;
+import shootingstar.stellaide.util.redis.RedisKeyspaceClient;
+import shootingstar.stellaide.util.ssh.SSHCommandExecutor;
+import shootingstar.stellaide.util.ssh.SSHPoolMetrics;
+import shootingstar.stellaide.util.ssh.SSHSessionPool;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final SSHSessionPool sshSessionPool;
+    private final SSHCommandExecutor sshCommandExecutor;
+    private final ExecutionScheduler executionScheduler;
+    private final FileContentCache fileContentCache;
+    private final ContainerTreeCache containerTreeCache;
+    private final ChatMessageSender chatMessageSender;
+    private final ChatMessageWriter chatMessageWriter;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ChatRoomCache chatRoomCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginActivityTracker loginActivityTracker;
+    private final RedisKeyspaceClient redisKeyspaceClient;
+    private final TokenRevocationList tokenRevocationList;
+
+    @GetMapping("/ssh/pool")
+    public ResponseEntity<SSHPoolMetrics> getSshPoolMetrics() {
+        return ResponseEntity.ok().body(sshSessionPool.getMetrics());
+    }
+
+    @GetMapping("/ssh/commands")
+    public ResponseEntity<Map<String, LatencySnapshot>> getSshCommandLatencies() {
+        return ResponseEntity.ok().body(sshCommandExecutor.getLatencySnapshots());
+    }
+
+    @GetMapping("/execution")
+    public ResponseEntity<ExecutionSchedulerMetrics> getExecutionSchedulerMetrics() {
+        return ResponseEntity.ok().body(executionScheduler.getMetrics());
+    }
+
+    @GetMapping("/cache/file-content")
+    public ResponseEntity<CacheStats> getFileContentCacheStats() {
+        return ResponseEntity.ok().body(fileContentCache.getStats());
+    }
+
+    @GetMapping("/cache/container-tree")
+    public ResponseEntity<CacheStats> getContainerTreeCacheStats() {
+        return ResponseEntity.ok().body(containerTreeCache.getStats());
+    }
+
+    @GetMapping("/chat/outbound")
+    public ResponseEntity<ChatOutboundMetrics> getChatOutboundMetrics() {
+        return ResponseEntity.ok().body(chatMessageSender.getMetrics());
+    }
+
+    @GetMapping("/chat/persist")
+    public ResponseEntity<ChatPersistMetrics> getChatPersistMetrics() {
+        return ResponseEntity.ok().body(chatMessageWriter.getMetrics());
+    }
+
+    @GetMapping("/chat/recent")
+    public ResponseEntity<CacheStats> getRecentMessageBufferStats() {
+        return ResponseEntity.ok().body(recentMessageBuffer.getStats());
+    }
+
+    @GetMapping("/cache/chat-room")
+    public ResponseEntity<CacheStats> getChatRoomCacheStats() {
+        return ResponseEntity.ok().body(chatRoomCache.getStats());
+    }
+
+    @GetMapping("/cache/verified-token")
+    public ResponseEntity<CacheStats> getVerifiedTokenCacheStats() {
+        return ResponseEntity.ok().body(verifiedTokenCache.getStats());
+    }
+
+    @GetMapping("/login-activity")
+    public ResponseEntity<LoginActivityMetrics> getLoginActivityMetrics() {
+        return ResponseEntity.ok().body(loginActivityTracker.getMetrics());
+    }
+
+    @GetMapping("/redis")
+    public ResponseEntity<Map<String, LatencySnapshot>> getRedisLatencies() {
+        return ResponseEntity.ok().body(redisKeyspaceClient.getLatencySnapshots());
+    }
+
+    @GetMapping("/token-revocation")
+    public ResponseEntity<TokenRevocationMetrics> getTokenRevocationMetrics() {
+        return ResponseEntity.ok().body(tokenRevocationList.getMetrics());
+    }
+}
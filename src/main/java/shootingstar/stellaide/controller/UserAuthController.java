@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import shootingstar.stellaide.controller.dto.userAuth.ChangePasswordReqDto;
 import shootingstar.stellaide.controller.dto.userAuth.CheckPasswordReqDto;
@@ -67,7 +69,7 @@ public class UserAuthController {
 
         // 로그아웃 로직 수행
         Authentication authentication = jwtTokenProvider.getAuthenticationFromRefreshToken(refreshToken);
-        userAuthService.logout(refreshToken, authentication.getName());
+        userAuthService.logout(refreshToken, accessToken, authentication.getName());
 
         // 쿠키에 존재하는 리프레시 토큰을 제거한다.
         updateCookie(response, null, 0);
@@ -97,10 +99,8 @@ public class UserAuthController {
     }
 
     @PostMapping("/checkPassword")
-    public ResponseEntity<String> checkPassword(@RequestBody @Valid CheckPasswordReqDto reqDto, HttpServletRequest request) {
-        String accessToken = getTokenFromHeader(request);
-
-        if (!userAuthService.checkPassword(reqDto.getPassword(), accessToken)) {
+    public ResponseEntity<String> checkPassword(@RequestBody @Valid CheckPasswordReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails) {
+        if (!userAuthService.checkPassword(reqDto.getPassword(), userDetails.getUsername())) {
             throw new CustomException(INCORRECT_VALUE_PASSWORD);
         }
 
@@ -108,7 +108,8 @@ public class UserAuthController {
     }
 
     @PatchMapping("/changePassword")
-    public ResponseEntity<String> changePassword(@RequestBody @Valid ChangePasswordReqDto reqDto, HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<String> changePassword(@RequestBody @Valid ChangePasswordReqDto reqDto, @AuthenticationPrincipal UserDetails userDetails,
+                                                 HttpServletRequest request, HttpServletResponse response) {
         String accessToken = getTokenFromHeader(request);
         String refreshToken = getTokenFromCookie(request); // 쿠키에 존재하는 리프레시 토큰을 받아온다.
 
@@ -120,7 +121,7 @@ public class UserAuthController {
             throw new CustomException(EXPIRED_REFRESH_TOKEN);
         }
 
-        userAuthService.changePassword(reqDto.getPassword(), reqDto.getNewPassword(), accessToken, refreshToken);
+        userAuthService.changePassword(reqDto.getPassword(), reqDto.getNewPassword(), userDetails.getUsername(), accessToken, refreshToken);
 
         // 쿠키에 존재하는 리프레시 토큰을 제거한다.
         updateCookie(response, null, 0);
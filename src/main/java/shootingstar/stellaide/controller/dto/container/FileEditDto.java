@@ -0,0 +1,18 @@
+package shootingstar.stellaide.controller.dto.container;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// 기준 버전 내용에서 offset 부터 length 글자(UTF-16 단위)를 text 로 바꾸는 편집
+@Data
+public class FileEditDto {
+    @NotNull
+    @Min(0)
+    private Integer offset;
+    @NotNull
+    @Min(0)
+    private Integer length;
+    @NotNull
+    private String text;
+}
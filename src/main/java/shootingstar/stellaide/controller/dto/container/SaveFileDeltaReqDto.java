@@ -0,0 +1,24 @@
+package shootingstar.stellaide.controller.dto.container;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SaveFileDeltaReqDto {
+    @Size(min = 36, max = 36)
+    private String containerId;
+    @NotBlank
+    private String path;
+    @NotBlank
+    private String fileName;
+    @NotNull
+    @Size(min = 64, max = 64)
+    private String baseHash;
+    @NotNull
+    private List<@Valid @NotNull FileEditDto> edits;
+}
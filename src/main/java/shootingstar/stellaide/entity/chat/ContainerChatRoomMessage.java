@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import shootingstar.stellaide.entity.BaseTimeTimeEntity;
 
 @Entity
+// 인덱스는 ddl-auto 로 만들어지지 않으므로 resources/db/chat_message_room_index.sql 로 만든다.
+@Table(indexes = @Index(name = "idx_container_chat_room_message_room", columnList = "chatRoomId, messageId"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ContainerChatRoomMessage extends BaseTimeTimeEntity {
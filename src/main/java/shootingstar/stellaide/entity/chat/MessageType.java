@@ -1,5 +1,5 @@
 package shootingstar.stellaide.entity.chat;
 
 public enum MessageType {
-    ENTER, TALK
+    ENTER, TALK, LEAVE
 }
@@ -24,6 +24,7 @@ public enum ErrorCode {
     EXPIRED_REFRESH_TOKEN(FORBIDDEN, "0107", "만료된 Refresh Token 입니다."),
     UNSUPPORTED_REFRESH_TOKEN(FORBIDDEN, "0108", "지원하지 않는 Refresh Token 입니다."),
     ILLEGAL_REFRESH_TOKEN(FORBIDDEN, "0109", "Claim이 빈 Refresh Token 입니다."),
+    REVOKED_ACCESS_TOKEN(FORBIDDEN, "0110", "무효화 된 Access Token 입니다."),
 
     NOT_FOUND_END_POINT(NOT_FOUND, "0200", "존재하지 않는 접근입니다."),
 
@@ -52,11 +53,14 @@ public enum ErrorCode {
     INCORRECT_FORMAT_CONTAINER_DES(BAD_REQUEST, "2003", "잘못된 형식의 컨테이너 설명입니다."),
     INCORRECT_FORMAT_FILE_PATH(BAD_REQUEST, "2004", "잘못된 형식의 파일(디렉토리) 경로입니다."),
     INCORRECT_FORMAT_FILE_NAME(BAD_REQUEST, "2005", "잘못된 형식의 파일(디렉토리) 이름입니다."),
+    INCORRECT_FORMAT_FILE_EDIT(BAD_REQUEST, "2006", "잘못된 형식의 파일 편집 내용입니다."),
 
     DENIED_PERMISSION_CONTAINER(CONFLICT, "2100", "해당 컨테이너에 대한 권한이 없습니다."),
 
     NOT_FOUND_CONTAINER(NOT_FOUND, "2200", "존재하지 않는 컨테이너입니다."),
     NOT_FOUND_SHARED_USER_CONTAINER(NOT_FOUND, "2201", "존재하지 않는 사용자 공유입니다."),
+    NOT_FOUND_EXECUTION_JOB(NOT_FOUND, "2202", "존재하지 않는 실행 작업입니다."),
+    NOT_FOUND_FILE(NOT_FOUND, "2203", "존재하지 않는 파일입니다."),
 
     MAX_CONTAINER_ERROR(CONFLICT, "2301", "컨테이너는 최대 5개까지 생성 가능합니다"),
     DUPLICATE_CONTAINER_NAME(CONFLICT, "2302", "이미 사용중인 컨테이너 이름입니다."),
@@ -65,12 +69,18 @@ public enum ErrorCode {
     FAILED_SHARED_ERROR(CONFLICT, "2305", "자신은 공유 대상자가 아닙니다."),
     FAILED_LOAD_CONTAINER_TREE(INTERNAL_SERVER_ERROR, "2306", "컨테이너 트리 정보를 가지고 오는데 실패하였습니다."),
     NOT_SUPPORT_CONTAINER_TYPE(CONFLICT, "2307", "지원하지 않는 컨테이너 타입입니다."),
+    ALREADY_RUNNING_EXECUTION(CONFLICT, "2308", "이미 실행 중인 프로그램이 있습니다."),
+    FULL_EXECUTION_QUEUE(TOO_MANY_REQUESTS, "2309", "실행 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+    EXECUTION_TIMEOUT(CONFLICT, "2310", "실행 시간이 초과되었습니다."),
+    CONFLICT_FILE_VERSION(CONFLICT, "2311", "다른 사용자가 먼저 파일을 수정하였습니다. 최신 내용을 다시 불러와주세요."),
+    UNKNOWN_FILE_VERSION(PRECONDITION_FAILED, "2312", "기준 파일 버전을 확인할 수 없습니다. 전체 내용으로 저장해주세요."),
 
     WEB_SOCKET_ERROR(BAD_REQUEST,"3000", "잘못된 형식의 웹소켓입니다."),
     INCORRECT_FORMAT_ROOM_TYPE(BAD_REQUEST, "3001", "잘못된 채팅방 타입입니다."),
     INCORRECT_FORMAT_ROOM_ID(BAD_REQUEST, "3002", "잘못된 채팅방 고유번호입니다."),
 
     NOT_FOUND_CHAT_ROOM(NOT_FOUND, "3201", "존재하지 않는 채팅방입니다."),
+    DENIED_PERMISSION_CHAT_ROOM(FORBIDDEN, "3202", "해당 채팅방에 대한 권한이 없습니다."),
 
     WEB_SOCKET_MESSAGE_SEND_ERROR(BAD_REQUEST,"3300", "메세지 전송에 실패하였습니다."),
     ;
@@ -0,0 +1,65 @@
+package shootingstar.stellaide.handler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.security.jwt.JwtTokenProvider;
+import shootingstar.stellaide.service.ChatService;
+import shootingstar.stellaide.util.chat.ChatSessionPrincipal;
+
+import java.util.Map;
+
+/*
+  채팅 웹소켓 연결 시 엑세스 토큰을 한 번만 검증하고, 사용자 정보와 참여할 수 있는 채팅방 목록을 세션에 보관한다.
+  브라우저의 웹소켓은 헤더를 지정할 수 없으므로 Authorization 헤더가 없으면 accessToken 쿼리 파라미터를 사용한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ChatHandshakeInterceptor implements HandshakeInterceptor {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ChatService chatService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String accessToken = resolveToken(request);
+        if (accessToken == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+
+        try {
+            jwtTokenProvider.validateToken(accessToken);
+            Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
+            attributes.put(ChatSessionPrincipal.ATTRIBUTE, chatService.createSessionPrincipal(authentication.getName()));
+            return true;
+        } catch (CustomException e) {
+            log.info("채팅 웹소켓 인증 실패 : {}", e.getMessage());
+            response.setStatusCode(e.getErrorCode().getHttpStatus());
+            return false;
+        }
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static String resolveToken(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("accessToken");
+    }
+}
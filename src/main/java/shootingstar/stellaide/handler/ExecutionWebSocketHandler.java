@@ -0,0 +1,275 @@
+package shootingstar.stellaide.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.exception.ErrorCode;
+import shootingstar.stellaide.security.jwt.JwtTokenProvider;
+import shootingstar.stellaide.service.ContainerService;
+import shootingstar.stellaide.service.dto.ExecutionStreamReqDto;
+import shootingstar.stellaide.service.dto.ExecutionStreamResDto;
+import shootingstar.stellaide.util.NamedThreadFactory;
+import shootingstar.stellaide.util.execution.ExecutionJob;
+import shootingstar.stellaide.util.execution.ExecutionScheduler;
+import shootingstar.stellaide.util.ssh.SSHOutputType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static shootingstar.stellaide.exception.ErrorCode.*;
+
+/**
+ * 프로그램 실행 결과를 생성되는 즉시 클라이언트로 전달하는 웹소켓 핸들러.
+ *
+ * 요청 : {"type":"RUN","containerId":"...","path":"...","accessToken":"..."} / {"type":"CANCEL"}
+ * 응답 : 대기열 등록 시 QUEUED(작업 번호), STDOUT, STDERR 출력 조각, 출력 제한 초과 시 TRUNCATED,
+ *        마지막으로 EXIT(작업 상태와 종료 코드) 혹은 ERROR
+ *
+ * 실행은 ExecutionScheduler 를 거치므로 동시 실행 제한에 걸리면 슬롯이 빌 때까지 대기한다.
+ *
+ * SSH 세션 스레드가 막히지 않도록 출력은 항상 즉시 읽어 세션별 대기열에 쌓고, 전송은 별도 스레드가 맡는다.
+ * 클라이언트가 느리면 대기 중인 출력을 한 프레임으로 합쳐 보내며,
+ * 대기열이 max-pending-chars 를 넘으면 프로그램을 중단한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionWebSocketHandler extends TextWebSocketHandler {
+    private final ObjectMapper objectMapper;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ContainerService containerService;
+    private final ExecutionScheduler executionScheduler;
+
+    @Value("${execution.stream.max-output-chars:1000000}")
+    private long maxOutputChars;
+
+    @Value("${execution.stream.max-pending-chars:262144}")
+    private int maxPendingChars;
+
+    @Value("${execution.stream.frame-chars:16384}")
+    private int frameChars;
+
+    private final Map<String, ExecutionStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("execution-send-"));
+
+    @PreDestroy
+    private void shutdown() {
+        streams.values().forEach(ExecutionStream::cancel);
+        sendExecutor.shutdownNow();
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ExecutionStreamReqDto reqDto;
+        try {
+            reqDto = objectMapper.readValue(message.getPayload(), ExecutionStreamReqDto.class);
+        } catch (Exception e) {
+            log.info("ExecutionStreamReqDto 변환 실패 : {}", e.getMessage());
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
+
+        if ("CANCEL".equals(reqDto.getType())) {
+            ExecutionStream stream = streams.get(session.getId());
+            if (stream != null) stream.cancel();
+            return;
+        }
+        if (!"RUN".equals(reqDto.getType())) {
+            sendError(session, INCORRECT_FORMAT);
+            return;
+        }
+
+        ExecutionStream stream = new ExecutionStream(session);
+        if (streams.putIfAbsent(session.getId(), stream) != null) {
+            sendError(session, ALREADY_RUNNING_EXECUTION);
+            return;
+        }
+
+        try {
+            jwtTokenProvider.validateToken(reqDto.getAccessToken());
+            ExecutionJob job = containerService.streamExecutionFile(
+                    reqDto.getContainerId(), reqDto.getPath(), reqDto.getAccessToken(), stream::offer);
+            send(session, new ExecutionStreamResDto("QUEUED", job.getJobId(), null));
+            stream.start(job);
+        } catch (CustomException e) {
+            streams.remove(session.getId(), stream);
+            sendError(session, e.getErrorCode());
+        } catch (Exception e) {
+            log.info("프로그램 실행 실패 : {}", e.getMessage());
+            streams.remove(session.getId(), stream);
+            sendError(session, SERVER_ERROR);
+        }
+    }
+
+    // 클라이언트 연결이 끊어지면 실행 중인 프로그램도 중단한다.
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        ExecutionStream stream = streams.remove(session.getId());
+        if (stream != null) {
+            log.info("execution session Close, 실행 중단 : {}", session.getId());
+            stream.cancel();
+        }
+    }
+
+    private void sendError(WebSocketSession session, ErrorCode errorCode) {
+        send(session, new ExecutionStreamResDto("ERROR", errorCode.getCode(), null));
+    }
+
+    private boolean send(WebSocketSession session, ExecutionStreamResDto resDto) {
+        if (!session.isOpen()) return false;
+        try {
+            TextMessage message = new TextMessage(objectMapper.writeValueAsString(resDto));
+            synchronized (session) {
+                session.sendMessage(message);
+            }
+            return true;
+        } catch (Exception e) {
+            log.info("실행 결과 전송 실패 : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 세션 하나의 실행 상태와 전송 대기열.
+     * 같은 종류의 연속된 출력은 frame-chars 까지 한 프레임으로 합쳐진다.
+     */
+    private class ExecutionStream {
+        private final WebSocketSession session;
+        private final Deque<Frame> pending = new ArrayDeque<>();
+        private ExecutionJob job;
+        private int pendingChars = 0;
+        private long totalChars = 0;
+        private boolean sending = false;
+        private boolean closed = false;
+
+        ExecutionStream(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void start(ExecutionJob job) {
+            synchronized (this) {
+                this.job = job;
+                if (closed) {
+                    executionScheduler.cancel(job);
+                }
+            }
+            job.getCompletion().whenComplete((finished, throwable) -> finish(finished));
+        }
+
+        // 출력을 읽는 스레드에서 호출되므로 절대 블로킹하지 않는다.
+        void offer(SSHOutputType type, String chunk) {
+            synchronized (this) {
+                if (closed) return;
+
+                long remaining = maxOutputChars - totalChars;
+                if (chunk.length() > remaining) {
+                    if (remaining > 0) enqueue(type.name(), chunk.substring(0, (int) remaining));
+                    pending.add(new Frame("TRUNCATED", null, null));
+                    totalChars = maxOutputChars;
+                    stopLocked();
+                    return;
+                }
+                totalChars += chunk.length();
+
+                if (pendingChars + chunk.length() > maxPendingChars) {
+                    log.info("클라이언트 수신 지연으로 실행 중단 : {}", session.getId());
+                    pending.add(new Frame("ERROR", WEB_SOCKET_MESSAGE_SEND_ERROR.getCode(), null));
+                    stopLocked();
+                    return;
+                }
+                enqueue(type.name(), chunk);
+            }
+        }
+
+        void cancel() {
+            synchronized (this) {
+                if (closed) return;
+                stopLocked();
+            }
+        }
+
+        private void finish(ExecutionJob finished) {
+            synchronized (this) {
+                closed = true;
+                if (finished.getErrorCode() != null) {
+                    pending.add(new Frame("ERROR", finished.getErrorCode().getCode(), null));
+                }
+                pending.add(new Frame("EXIT", finished.getStatus().name(), finished.getExitStatus()));
+                schedule();
+            }
+        }
+
+        private void enqueue(String type, String chunk) {
+            Frame last = pending.peekLast();
+            if (last != null && type.equals(last.type) && last.data.length() + chunk.length() <= frameChars) {
+                last.data.append(chunk);
+                last.outputChars += chunk.length();
+            } else {
+                Frame frame = new Frame(type, chunk, null);
+                frame.outputChars = chunk.length();
+                pending.add(frame);
+            }
+            pendingChars += chunk.length();
+            schedule();
+        }
+
+        private void stopLocked() {
+            closed = true;
+            schedule();
+            if (job != null) executionScheduler.cancel(job);
+        }
+
+        private void schedule() {
+            if (sending) return;
+            sending = true;
+            sendExecutor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Frame next;
+                ExecutionStreamResDto resDto;
+                synchronized (this) {
+                    next = pending.poll();
+                    if (next == null) {
+                        sending = false;
+                        return;
+                    }
+                    pendingChars -= next.outputChars;
+                    resDto = new ExecutionStreamResDto(next.type, next.data == null ? null : next.data.toString(), next.exitStatus);
+                }
+                if (!send(session, resDto)) {
+                    cancel();
+                }
+                if ("EXIT".equals(next.type)) {
+                    streams.remove(session.getId(), this);
+                }
+            }
+        }
+    }
+
+    private static class Frame {
+        private final String type;
+        private final StringBuilder data;
+        private final Integer exitStatus;
+        private int outputChars = 0;
+
+        Frame(String type, String data, Integer exitStatus) {
+            this.type = type;
+            this.data = data == null ? null : new StringBuilder(data);
+            this.exitStatus = exitStatus;
+        }
+    }
+}
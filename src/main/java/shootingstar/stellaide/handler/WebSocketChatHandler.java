@@ -4,91 +4,147 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 import shootingstar.stellaide.entity.chat.ChatRoomType;
 import shootingstar.stellaide.entity.chat.MessageType;
 import shootingstar.stellaide.exception.CustomException;
 import shootingstar.stellaide.service.ChatService;
-import shootingstar.stellaide.service.dto.ChatRoomDto;
 import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+import shootingstar.stellaide.util.chat.ChatClusterBus;
+import shootingstar.stellaide.util.chat.ChatFrame;
+import shootingstar.stellaide.util.chat.ChatFrameCodec;
+import shootingstar.stellaide.util.chat.ChatMessageSender;
+import shootingstar.stellaide.util.chat.ChatRoomKey;
+import shootingstar.stellaide.util.chat.ChatRoomRegistry;
+import shootingstar.stellaide.util.chat.ChatSessionPrincipal;
 
-import java.io.IOException;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 import static shootingstar.stellaide.exception.ErrorCode.*;
 
+/*
+  서브프로토콜로 ChatFrameCodec.BINARY_PROTOCOL 을 요청한 클라이언트는 바이너리 프레임으로, 그 밖의 클라이언트는 JSON 으로 주고받는다.
+  사용자 인증과 채팅방 목록은 ChatHandshakeInterceptor 가 연결 시 한 번 준비한다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class WebSocketChatHandler extends TextWebSocketHandler {
+public class WebSocketChatHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
     private final ObjectMapper objectMapper;
     private final ChatService chatService;
-    private final Set<WebSocketSession> sessions = Collections.synchronizedSet(new HashSet<>());
-
-//    private Map<String, ArrayList<WebSocketSession>> RoomList = new ConcurrentHashMap<String, ArrayList<WebSocketSession>>();
-//    private Map<WebSocketSession, String> sessionList = new ConcurrentHashMap<WebSocketSession, String>();
+    private final ChatRoomRegistry chatRoomRegistry;
+    private final ChatMessageSender chatMessageSender;
+    private final ChatClusterBus chatClusterBus;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         log.info("session Connect : {}", session.getId());
-        sessions.add(session);
+        chatMessageSender.register(session);
     }
 
     //세션 끊을 때
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         log.info("session Close : {}", session.getId());
-        sessions.remove(session);
+        // 마지막 참여자가 나간 채팅방만 구독을 해제한다.
+        for (ChatRoomKey roomKey : chatRoomRegistry.leaveAll(session)) {
+            chatClusterBus.syncSubscription(roomKey);
+        }
+        chatMessageSender.unregister(session);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(ChatFrameCodec.BINARY_PROTOCOL, ChatFrameCodec.JSON_PROTOCOL);
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        String payload = message.getPayload();
+        handleFrame(session, ChatFrame.fromJson(objectMapper, message.getPayload()));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        ChatFrame frame;
+        try {
+            frame = ChatFrame.fromBinary(objectMapper, message.getPayload());
+        } catch (Exception e) {
+            log.info("바이너리 채팅 프레임 변환 실패 : {}", e.getMessage());
+            session.close();
+            return;
+        }
+        handleFrame(session, frame);
+    }
+
+    private void handleFrame(WebSocketSession session, ChatFrame frame) throws Exception {
+        ChatSessionPrincipal principal = (ChatSessionPrincipal) session.getAttributes().get(ChatSessionPrincipal.ATTRIBUTE);
+        if (principal == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+
         ChatRoomMessageDto chatRoomMessageDto = null;
         try {
-            chatRoomMessageDto = objectMapper.readValue(payload, ChatRoomMessageDto.class);
+            chatRoomMessageDto = frame.getMessage();
+            if (chatRoomMessageDto.getType() == null || chatRoomMessageDto.getRoomType() == null) {
+                throw new CustomException(WEB_SOCKET_ERROR);
+            }
         } catch (Exception e) {
             log.info("chatRoomMessageDto 변환 실패 : {}", e.getMessage());
             session.close();
             return;
         }
 
-        ChatRoomDto chatRoomDto = null;
+        ChatRoomKey roomKey = null;
         try {
-            if (chatRoomMessageDto.getRoomType().equals(ChatRoomType.DM)) {
-                chatRoomDto = chatService.findDmChatRoomById(chatRoomMessageDto.getRoomId());
-            } else if (chatRoomMessageDto.getRoomType().equals(ChatRoomType.CONTAINER)) {
-                chatRoomDto = chatService.findContainerChatRoomById(chatRoomMessageDto.getRoomId());
-            } else if (chatRoomMessageDto.getRoomType().equals(ChatRoomType.GLOBAL)) {
-                chatRoomDto = chatService.findGlobalChatRoom();
-            } else {
-                throw new CustomException(INCORRECT_FORMAT_ROOM_TYPE);
-            }
+            roomKey = resolveRoomKey(principal, chatRoomMessageDto);
         } catch (Exception e) {
-            log.info("chatRoomDto 변환 실패 : {}", e.getMessage());
+            log.info("채팅방 확인 실패 : {}", e.getMessage());
             session.close();
             return;
         }
 
-        // DM Chat
+        // 발신자는 클라이언트가 보낸 값 대신 인증된 사용자의 닉네임으로 정한다.
+        if (!principal.getNickname().equals(chatRoomMessageDto.getSender())) {
+            chatRoomMessageDto.setSender(principal.getNickname());
+            frame = ChatFrame.fromMessage(objectMapper, chatRoomMessageDto);
+        }
+
+        // 채팅방 참여, 퇴장
+        // TALK 만 보내는 클라이언트도 같은 채팅방의 메시지를 받을 수 있도록 발신자는 채팅방에 참여시킨다.
+        // 채널 구독은 채팅방이 비어 있다가 참여자가 생기거나, 마지막 참여자가 나갈 때만 바꾼다.
+        boolean membershipChanged = chatRoomMessageDto.getType() == MessageType.LEAVE
+                ? chatRoomRegistry.leave(roomKey, session)
+                : chatRoomRegistry.join(roomKey, session);
+        if (membershipChanged) {
+            chatClusterBus.syncSubscription(roomKey);
+        }
+
         try {
-            if(chatRoomMessageDto.getRoomType().equals(ChatRoomType.DM)){
-                if(chatRoomMessageDto.getType().equals(MessageType.TALK)){
-                    chatService.saveDirectMessage(chatRoomMessageDto, chatRoomDto);
+            if (chatRoomMessageDto.getType().equals(MessageType.TALK)) {
+                // DM Chat
+                if (roomKey.getRoomType().equals(ChatRoomType.DM)) {
+                    chatService.saveDirectMessage(chatRoomMessageDto, roomKey.getRoomId());
                 }
-            }
-            // Container Chat
-            else if(chatRoomMessageDto.getRoomType().equals(ChatRoomType.CONTAINER)){
-                if(chatRoomMessageDto.getType().equals(MessageType.TALK)){
-                    chatService.saveContainerMessage(chatRoomMessageDto,chatRoomDto);
+                // Container Chat
+                else if (roomKey.getRoomType().equals(ChatRoomType.CONTAINER)) {
+                    chatService.saveContainerMessage(chatRoomMessageDto, roomKey.getRoomId());
+                }
+                // Global Chat
+                else if (roomKey.getRoomType().equals(ChatRoomType.GLOBAL)) {
+                    chatService.saveGlobalMessage(chatRoomMessageDto);
                 }
             }
-            // Global Chat
+        } catch (CustomException e) {
+            log.info("채팅 내역 저장 실패: {}", e.getMessage());
+            // 저장 대기열이 가득 차 거절된 메시지는 전송하지 않고, 발신자에게 잠시 후 다시 시도하라고 알린다.
+            session.close(e.getErrorCode() == WEB_SOCKET_MESSAGE_SEND_ERROR ? CloseStatus.SERVICE_OVERLOAD : CloseStatus.NORMAL);
+            return;
         } catch (Exception e) {
             log.info("채팅 내역 저장 실패: {}", e.getMessage());
             session.close();
@@ -96,21 +152,33 @@ public class WebSocketChatHandler extends TextWebSocketHandler {
         }
 
         // message 전송
-        try {
-            sendToEachSocket(sessions, message);
-        } catch (Exception e) {
-            log.info("메시지 전송 실패 : {}", e.getMessage());
-            session.close();
-        }
+        sendToRoom(roomKey, frame);
     }
 
-    private  void sendToEachSocket(Set<WebSocketSession> sessions, TextMessage message) {
-        sessions.parallelStream().forEach( roomSession -> {
-            try {
-                roomSession.sendMessage(message);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    /*
+      핸드셰이크에서 읽은 채팅방 목록으로 참여 권한을 확인하므로 메시지마다 DB 를 조회하지 않는다.
+      목록에 없는 채팅방은 접속 후 새로 공유되었거나 생성되었을 수 있으므로 한 번 다시 읽어 확인한다.
+     */
+    private ChatRoomKey resolveRoomKey(ChatSessionPrincipal principal, ChatRoomMessageDto chatRoomMessageDto) {
+        if (chatRoomMessageDto.getRoomType() == ChatRoomType.GLOBAL) {
+            return new ChatRoomKey(ChatRoomType.GLOBAL, chatService.findGlobalChatRoom().getRoomId());
+        }
+        if (chatRoomMessageDto.getRoomId() == null) {
+            throw new CustomException(INCORRECT_FORMAT_ROOM_ID);
+        }
+
+        ChatRoomKey roomKey = new ChatRoomKey(chatRoomMessageDto.getRoomType(), chatRoomMessageDto.getRoomId());
+        if (!principal.isAuthorized(roomKey)) {
+            principal.replaceAuthorizedRooms(chatService.findAuthorizedChatRooms(principal.getUserId()));
+            if (!principal.isAuthorized(roomKey)) {
+                throw new CustomException(NOT_FOUND_CHAT_ROOM);
             }
-        });
+        }
+        return roomKey;
+    }
+
+    // 이 서버의 참여자에게 전달하고, 다른 서버의 참여자에게는 레디스 채널을 통해 전달한다.
+    private void sendToRoom(ChatRoomKey roomKey, ChatFrame frame) {
+        chatClusterBus.broadcast(roomKey, frame);
     }
 }
\ No newline at end of file
@@ -10,4 +10,6 @@ public interface ContainerChatRoomMessageRepositoryCustom {
     List<FindAllChatMessageByRoomIdDto> findAllByRoomId(Long roomId);
 
     Page<FindAllChatMessageByRoomIdDto> findAllMessageById(Long roomId, Pageable pageable);
+
+    List<FindAllChatMessageByRoomIdDto> findMessagesBefore(Long roomId, Long beforeMessageId, int limit);
 }
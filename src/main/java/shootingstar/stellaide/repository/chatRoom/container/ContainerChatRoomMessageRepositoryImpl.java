@@ -12,7 +12,6 @@ import shootingstar.stellaide.repository.chatRoom.dto.QFindAllChatMessageByRoomI
 
 import java.util.List;
 
-import static shootingstar.stellaide.entity.chat.QContainerChatRoom.containerChatRoom;
 import static shootingstar.stellaide.entity.chat.QContainerChatRoomMessage.containerChatRoomMessage;
 
 public class ContainerChatRoomMessageRepositoryImpl implements ContainerChatRoomMessageRepositoryCustom {
@@ -23,7 +22,8 @@ public class ContainerChatRoomMessageRepositoryImpl implements ContainerChatRoom
     public List<FindAllChatMessageByRoomIdDto> findAllByRoomId(Long roomId) {
         return queryFactory
                 .select(new QFindAllChatMessageByRoomIdDto(
-                        containerChatRoom.chatRoomId,
+                        containerChatRoomMessage.messageId,
+                        containerChatRoomMessage.containerChatRoom.chatRoomId,
                         containerChatRoomMessage.sender,
                         containerChatRoomMessage.message,
                         containerChatRoomMessage.createdTime,
@@ -40,7 +40,8 @@ public class ContainerChatRoomMessageRepositoryImpl implements ContainerChatRoom
     public Page<FindAllChatMessageByRoomIdDto> findAllMessageById(Long roomId, Pageable pageable) {
         List<FindAllChatMessageByRoomIdDto> content = queryFactory
                 .select(new QFindAllChatMessageByRoomIdDto(
-                        containerChatRoom.chatRoomId,
+                        containerChatRoomMessage.messageId,
+                        containerChatRoomMessage.containerChatRoom.chatRoomId,
                         containerChatRoomMessage.sender,
                         containerChatRoomMessage.message,
                         containerChatRoomMessage.createdTime,
@@ -55,11 +56,35 @@ public class ContainerChatRoomMessageRepositoryImpl implements ContainerChatRoom
 
         JPAQuery<Long> countQuery = queryFactory
                 .select(containerChatRoomMessage.count())
-                .from(containerChatRoomMessage);
+                .from(containerChatRoomMessage)
+                .where(roomIdEq(roomId));
 
         return PageableExecutionUtils.getPage(content,pageable,countQuery::fetchOne);
     }
 
+    // (chatRoomId, messageId) 인덱스를 따라 beforeMessageId 바로 앞에서부터 limit 건만 읽는다. 최신 메시지가 먼저 온다.
+    @Override
+    public List<FindAllChatMessageByRoomIdDto> findMessagesBefore(Long roomId, Long beforeMessageId, int limit) {
+        return queryFactory
+                .select(new QFindAllChatMessageByRoomIdDto(
+                        containerChatRoomMessage.messageId,
+                        containerChatRoomMessage.containerChatRoom.chatRoomId,
+                        containerChatRoomMessage.sender,
+                        containerChatRoomMessage.message,
+                        containerChatRoomMessage.createdTime,
+                        containerChatRoomMessage.messageType
+                ))
+                .from(containerChatRoomMessage)
+                .where(roomIdEq(roomId), messageIdLt(beforeMessageId))
+                .orderBy(containerChatRoomMessage.messageId.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression messageIdLt(Long beforeMessageId) {
+        return beforeMessageId != null ? containerChatRoomMessage.messageId.lt(beforeMessageId) : null;
+    }
+
     private BooleanExpression roomIdEq(Long roomId){
         return roomId !=null ? containerChatRoomMessage.containerChatRoom.chatRoomId.eq(roomId) : null;
 //        return roomId !=null ? chatRoomMessage.chatRoom.chatRoomId.eq(roomId) : null;
@@ -5,5 +5,5 @@ import org.springframework.stereotype.Repository;
 import shootingstar.stellaide.entity.chat.ContainerChatRoom;
 
 @Repository
-public interface ContainerChatRoomRepository extends JpaRepository<ContainerChatRoom, Long> {
+public interface ContainerChatRoomRepository extends JpaRepository<ContainerChatRoom, Long>, ContainerChatRoomRepositoryCustom {
 }
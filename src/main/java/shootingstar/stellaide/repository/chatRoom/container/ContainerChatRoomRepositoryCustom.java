@@ -0,0 +1,8 @@
+package shootingstar.stellaide.repository.chatRoom.container;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ContainerChatRoomRepositoryCustom {
+    List<Long> findChatRoomIdsByUserId(UUID userId);
+}
@@ -0,0 +1,30 @@
+package shootingstar.stellaide.repository.chatRoom.container;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static shootingstar.stellaide.entity.QSharedUserContainer.sharedUserContainer;
+import static shootingstar.stellaide.entity.chat.QContainerChatRoom.containerChatRoom;
+import static shootingstar.stellaide.entity.container.QContainer.container;
+
+public class ContainerChatRoomRepositoryImpl implements ContainerChatRoomRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+    public ContainerChatRoomRepositoryImpl(EntityManager em){ this.queryFactory = new JPAQueryFactory(em);}
+
+    // 소유하거나 공유받은 컨테이너의 채팅방
+    @Override
+    public List<Long> findChatRoomIdsByUserId(UUID userId) {
+        return queryFactory
+                .select(containerChatRoom.chatRoomId)
+                .distinct()
+                .from(containerChatRoom)
+                .join(containerChatRoom.container, container)
+                .leftJoin(container.sharedUsers, sharedUserContainer)
+                .where(container.owner.userId.eq(userId)
+                        .or(sharedUserContainer.sharedUser.userId.eq(userId)))
+                .fetch();
+    }
+}
@@ -11,4 +11,6 @@ public interface DirectChatRoomMessageRepositoryCustom {
     List<FindAllDmMessageByRoomIdDto> findAllDMMessageById(Long roomId);
 
     Page<FindAllDmMessageByRoomIdDto> findAllDMMessageById(Long roomId, Pageable pageable);
+
+    List<FindAllDmMessageByRoomIdDto> findMessagesBefore(Long roomId, Long beforeMessageId, int limit);
 }
@@ -10,7 +10,6 @@ import org.springframework.data.support.PageableExecutionUtils;
 import shootingstar.stellaide.repository.chatRoom.dto.FindAllDmMessageByRoomIdDto;
 import shootingstar.stellaide.repository.chatRoom.dto.QFindAllDmMessageByRoomIdDto;
 
-import static shootingstar.stellaide.entity.chat.QDirectChatRoom.directChatRoom;
 import static shootingstar.stellaide.entity.chat.QDirectChatRoomMessage.directChatRoomMessage;
 
 import java.util.List;
@@ -23,7 +22,8 @@ public class DirectChatRoomMessageRepositoryImpl implements DirectChatRoomMessag
     public List<FindAllDmMessageByRoomIdDto> findAllDMMessageById(Long roomId) {
         return queryFactory
                 .select(new QFindAllDmMessageByRoomIdDto(
-                        directChatRoom.dmChatRoomId,
+                        directChatRoomMessage.messageId,
+                        directChatRoomMessage.directChatRoom.dmChatRoomId,
                         directChatRoomMessage.sender,
                         directChatRoomMessage.message,
                         directChatRoomMessage.createdTime
@@ -37,7 +37,8 @@ public class DirectChatRoomMessageRepositoryImpl implements DirectChatRoomMessag
     public Page<FindAllDmMessageByRoomIdDto> findAllDMMessageById(Long roomId, Pageable pageable) {
         List<FindAllDmMessageByRoomIdDto> content = queryFactory
                 .select(new QFindAllDmMessageByRoomIdDto(
-                        directChatRoom.dmChatRoomId,
+                        directChatRoomMessage.messageId,
+                        directChatRoomMessage.directChatRoom.dmChatRoomId,
                         directChatRoomMessage.sender,
                         directChatRoomMessage.message,
                         directChatRoomMessage.createdTime
@@ -50,11 +51,34 @@ public class DirectChatRoomMessageRepositoryImpl implements DirectChatRoomMessag
                 .fetch();
         JPAQuery<Long> countQuery = queryFactory
                 .select(directChatRoomMessage.count())
-                .from(directChatRoomMessage);
+                .from(directChatRoomMessage)
+                .where(roomIdEq(roomId));
 
         return PageableExecutionUtils.getPage(content,pageable,countQuery::fetchOne);
     }
 
+    // (dmChatRoomId, messageId) 인덱스를 따라 beforeMessageId 바로 앞에서부터 limit 건만 읽는다. 최신 메시지가 먼저 온다.
+    @Override
+    public List<FindAllDmMessageByRoomIdDto> findMessagesBefore(Long roomId, Long beforeMessageId, int limit) {
+        return queryFactory
+                .select(new QFindAllDmMessageByRoomIdDto(
+                        directChatRoomMessage.messageId,
+                        directChatRoomMessage.directChatRoom.dmChatRoomId,
+                        directChatRoomMessage.sender,
+                        directChatRoomMessage.message,
+                        directChatRoomMessage.createdTime
+                ))
+                .from(directChatRoomMessage)
+                .where(roomIdEq(roomId), messageIdLt(beforeMessageId))
+                .orderBy(directChatRoomMessage.messageId.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression messageIdLt(Long beforeMessageId) {
+        return beforeMessageId != null ? directChatRoomMessage.messageId.lt(beforeMessageId) : null;
+    }
+
     private BooleanExpression roomIdEq(Long roomId){
         return roomId !=null ? directChatRoomMessage.directChatRoom.dmChatRoomId.eq(roomId) : null;
     }
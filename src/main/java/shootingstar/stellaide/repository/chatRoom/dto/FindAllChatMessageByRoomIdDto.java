@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Data
 public class FindAllChatMessageByRoomIdDto {
+    private Long messageId;
     private String sender;
     private String msg;
     private MessageType type;
@@ -15,7 +16,8 @@ public class FindAllChatMessageByRoomIdDto {
     private Long roomId;
 
     @QueryProjection
-    public FindAllChatMessageByRoomIdDto(Long roomId, String sender, String msg, LocalDateTime createTime, MessageType type){
+    public FindAllChatMessageByRoomIdDto(Long messageId, Long roomId, String sender, String msg, LocalDateTime createTime, MessageType type){
+        this.messageId = messageId;
         this.roomId = roomId;
         this.sender = sender;
         this.msg = msg;
@@ -7,13 +7,15 @@ import java.time.LocalDateTime;
 
 @Data
 public class FindAllDmMessageByRoomIdDto {
+    private Long messageId;
     private String sender;
     private String msg;
     private LocalDateTime createTime ;
     private Long roomId;
 
     @QueryProjection
-    public FindAllDmMessageByRoomIdDto(Long roomId, String sender, String msg, LocalDateTime createTime){
+    public FindAllDmMessageByRoomIdDto(Long messageId, Long roomId, String sender, String msg, LocalDateTime createTime){
+        this.messageId = messageId;
         this.roomId = roomId;
         this.sender = sender;
         this.msg = msg;
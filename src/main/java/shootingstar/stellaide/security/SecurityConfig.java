@@ -1,5 +1,6 @@
 package shootingstar.stellaide.security;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -18,8 +19,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import shootingstar.stellaide.security.jwt.JwtAuthenticationFilter;
 import shootingstar.stellaide.security.jwt.JwtTokenProvider;
-import shootingstar.stellaide.security.jwt.TokenProperty;
-import shootingstar.stellaide.util.LoginListRedisUtil;
+import shootingstar.stellaide.util.activity.LoginActivityTracker;
 
 import java.util.Collections;
 import java.util.List;
@@ -30,8 +30,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final LoginListRedisUtil loginListRedisUtil;
-    private final TokenProperty tokenProperty;
+    private final LoginActivityTracker loginActivityTracker;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -42,6 +41,7 @@ public class SecurityConfig {
                 .sessionManagement(configurer -> configurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize ->
                                 authorize
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // 스트리밍 응답의 비동기 디스패치는 최초 요청에서 이미 인가됨
                                         .requestMatchers(
                                                 "/remote/fgt_lang",
                                                 "/"
@@ -53,7 +53,8 @@ public class SecurityConfig {
                                         ).authenticated()
                                         .requestMatchers( // 인증 없이 접근 허용
                                                 "/error",
-                                                "/ws/chat",
+                                                "/ws/chat", // 핸드셰이크 인터셉터에서 인증
+                                                "/ws/execution",
                                                 "/api/verification/**",
                                                 "/api/check-duplicate/**",
                                                 "/api/auth/**"
@@ -62,7 +63,7 @@ public class SecurityConfig {
 //                                .requestMatchers("/api/user/test").hasRole("USER")
                                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, loginListRedisUtil, tokenProperty), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, loginActivityTracker), UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(authenticationManager -> authenticationManager
                         .authenticationEntryPoint(new CustomAuthenticationEntryPoint())
                         .accessDeniedHandler(new CustomAccessDeniedHandler())
@@ -17,19 +17,16 @@ import org.springframework.web.filter.GenericFilterBean;
 import shootingstar.stellaide.exception.CustomException;
 import shootingstar.stellaide.exception.ErrorCode;
 import shootingstar.stellaide.exception.ErrorResponse;
-import shootingstar.stellaide.util.LoginListRedisUtil;
+import shootingstar.stellaide.util.activity.LoginActivityTracker;
 
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 @Slf4j
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final LoginListRedisUtil loginListRedisUtil;
-    private final TokenProperty tokenProperty;
+    private final LoginActivityTracker loginActivityTracker;
 
     // JWT 인증 필터
     @Override
@@ -65,15 +62,13 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
             이 때 만약 잘못된 토큰 값이라면 토큰 에러를 반환한다.
          */
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(token);
+            if (token != null) {
+                // 검증과 인증 정보 생성을 한 번에 처리한다. 이미 검증한 토큰은 캐시된 인증 정보를 사용한다.
+                Authentication authentication = jwtTokenProvider.authenticateAccessToken(token);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 // 엑세스 토큰 검증을 통과했을 경우 해당 Access 토큰 사용자의 로그인 기록을 최신화 한다.
-                String username = authentication.getName();
-                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-                String nowValueToStore = String.format("{\"loginTime\":\"%s\"}", dateFormat.format(new Date()));
-                loginListRedisUtil.setDataExpire(username, nowValueToStore, tokenProperty.getACCESS_EXPIRE());
+                loginActivityTracker.record(authentication.getName());
             }
         } catch (CustomException e) {
             // 검증 과정에서 예외가 발생했을 경우
@@ -20,6 +20,8 @@ import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -27,19 +29,29 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
     private final Key accessKey;
     private final Key refreshKey;
+    // 파서는 불변이며 스레드 안전하므로 키마다 한 번만 만들어 재사용한다.
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
     private final TokenProperty tokenProperty;
     private final CustomUserDetailService userDetailService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
 
     public JwtTokenProvider(@Value("${jwt.secret-access}") String accessSecretKey,
                             @Value("${jwt.secret-refresh}") String refreshSecretKey,
-                            TokenProperty tokenProperty, CustomUserDetailService userDetailService) {
+                            TokenProperty tokenProperty, CustomUserDetailService userDetailService,
+                            VerifiedTokenCache verifiedTokenCache, TokenRevocationList tokenRevocationList) {
         this.tokenProperty = tokenProperty;
         this.userDetailService = userDetailService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
         byte[] accessKeyBytes = Decoders.BASE64.decode(accessSecretKey);
         byte[] refreshKeyBytes = Decoders.BASE64.decode(refreshSecretKey);
 
         this.accessKey = Keys.hmacShaKeyFor(accessKeyBytes);
         this.refreshKey = Keys.hmacShaKeyFor(refreshKeyBytes);
+        this.accessParser = Jwts.parserBuilder().setSigningKey(accessKey).build();
+        this.refreshParser = Jwts.parserBuilder().setSigningKey(refreshKey).build();
     }
 
     // 유저 정보를 가지고 AccessToken, RefreshToken 을 생성하는 메서드
@@ -65,6 +77,7 @@ public class JwtTokenProvider {
         return Jwts.builder()
                 .setSubject(authentication.getName())
                 .claim("auth", getAuthoritiesString(authentication.getAuthorities()))
+                .setId(UUID.randomUUID().toString()) // 토큰 무효화에 사용하는 고유번호
                 .setIssuedAt(new Date(now))
                 .setExpiration(accessTokenExpiresIn)
                 .signWith(accessKey, SignatureAlgorithm.HS256)
@@ -77,6 +90,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(authentication.getName())
+                .setId(UUID.randomUUID().toString()) // 토큰 무효화에 사용하는 고유번호
                 .setIssuedAt(new Date(now))
                 .setExpiration(refreshTokenExpiresIn)
                 .signWith(refreshKey, SignatureAlgorithm.HS256)
@@ -84,38 +98,93 @@ public class JwtTokenProvider {
     }
 
     // 키를 통해 토큰을 복화화 한다.
-    private Claims parseClaims(String token, Key key) {
+    private Claims parseClaims(String token, JwtParser parser) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
     }
 
-    // access 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
+    /*
+      access 토큰을 검증하고 인증 정보를 돌려주는 메서드
+      서명 검증과 클레임 파싱은 토큰마다 한 번만 하고, 클레임은 토큰 만료 시각까지 캐시하여 같은 토큰의 요청에 재사용한다.
+      인증 정보는 요청마다 새로 만들어 요청끼리 같은 객체를 공유하지 않는다.
+     */
+    public Authentication authenticateAccessToken(String accessToken) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) {
+            checkNotRevoked(cached.getTokenId());
+            return toAuthentication(cached.getSubject(), cached.getAuthorities());
+        }
+
+        Claims claims;
+        try {
+            claims = accessParser.parseClaimsJws(accessToken).getBody();
+        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
+            log.info("Invalid ACCESS token");
+            throw new CustomException(ErrorCode.INVALID_ACCESS_TOKEN);
+        } catch (ExpiredJwtException e) {
+            log.info("Expired ACCESS token");
+            throw new CustomException(ErrorCode.EXPIRED_ACCESS_TOKEN);
+        } catch (UnsupportedJwtException e) {
+            log.info("Unsupported ACCESS token");
+            throw new CustomException(ErrorCode.UNSUPPORTED_ACCESS_TOKEN);
+        } catch (IllegalArgumentException e) {
+            log.info("ACCESS claims string is empty.");
+            throw new CustomException(ErrorCode.ILLEGAL_ACCESS_TOKEN);
+        }
+
+        checkNotRevoked(claims.getId());
+        List<GrantedAuthority> authorities = getAuthorities(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(accessToken, claims.getSubject(), authorities, claims.getId(), claims.getExpiration().getTime());
+        }
+        return toAuthentication(claims.getSubject(), authorities);
+    }
+
+    // 무효화 여부는 토큰이 캐시되어 있더라도 매번 확인한다. 대부분 블룸 필터 조회로 끝난다.
+    private void checkNotRevoked(String tokenId) {
+        if (tokenRevocationList.isRevoked(tokenId)) {
+            log.info("Revoked ACCESS token");
+            throw new CustomException(ErrorCode.REVOKED_ACCESS_TOKEN);
+        }
+    }
+
+    /*
+      access 토큰에 들어있는 정보를 꺼내는 메서드 (만료된 토큰도 허용)
+      JwtAuthenticationFilter 에서 검증한 토큰이라면 캐시된 클레임을 사용한다.
+     */
     public Authentication getAuthenticationFromAccessToken(String accessToken) {
+        VerifiedTokenCache.VerifiedToken cached = verifiedTokenCache.get(accessToken);
+        if (cached != null) return toAuthentication(cached.getSubject(), cached.getAuthorities());
+
         // 토큰 복호화
-        Claims claims = parseClaims(accessToken, accessKey);
+        Claims claims = parseClaims(accessToken, accessParser);
+        return toAuthentication(claims.getSubject(), getAuthorities(claims));
+    }
 
+    // 클레임에서 권한 정보 가져오기
+    private List<GrantedAuthority> getAuthorities(Claims claims) {
         if (claims.get("auth") == null) {
             log.info("권한 정보가 없는 토큰입니다.");
             throw new CustomException(ErrorCode.ILLEGAL_ACCESS_TOKEN);
         }
 
-        // 클레임에서 권한 정보 가져오기
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get("auth").toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+        return Arrays.stream(claims.get("auth").toString().split(","))
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableList());
+    }
 
-        // UserDetails 객체를 만들어서 Authentication 리턴
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
+    // UserDetails 객체를 만들어서 Authentication 리턴
+    private Authentication toAuthentication(String subject, List<GrantedAuthority> authorities) {
+        UserDetails principal = new User(subject, "", authorities);
         return new UsernamePasswordAuthenticationToken(principal, "", authorities);
     }
 
     // refresh 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
     public Authentication getAuthenticationFromRefreshToken(String token) {
-        Claims claims = parseClaims(token, refreshKey);
+        Claims claims = parseClaims(token, refreshParser);
 
         if (claims.getSubject() == null) {
             log.info("토큰에서 사용자 식별 정보를 찾을 수 없습니다.");
@@ -127,30 +196,29 @@ public class JwtTokenProvider {
         return new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
     }
 
+    // access 토큰을 만료 시각까지 무효화 한다. 만료된 토큰은 무효화할 필요가 없다.
+    public void revokeAccessToken(String accessToken) {
+        Claims claims = parseClaims(accessToken, accessParser);
+        if (claims.getExpiration() != null) {
+            tokenRevocationList.revoke(claims.getId(), claims.getExpiration().getTime());
+        }
+    }
+
+    // refresh 토큰의 고유번호(jti)를 꺼내는 메서드
+    public String getRefreshTokenId(String refreshToken) {
+        return parseClaims(refreshToken, refreshParser).getId();
+    }
+
     // access 토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(accessKey).build().parseClaimsJws(token);
-            return true;
-        } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-            log.info("Invalid ACCESS token");
-            throw new CustomException(ErrorCode.INVALID_ACCESS_TOKEN);
-        } catch (ExpiredJwtException e) {
-            log.info("Expired ACCESS token");
-            throw new CustomException(ErrorCode.EXPIRED_ACCESS_TOKEN);
-        } catch (UnsupportedJwtException e) {
-            log.info("Unsupported ACCESS token");
-            throw new CustomException(ErrorCode.UNSUPPORTED_ACCESS_TOKEN);
-        } catch (IllegalArgumentException e) {
-            log.info("ACCESS claims string is empty.");
-            throw new CustomException(ErrorCode.ILLEGAL_ACCESS_TOKEN);
-        }
+        authenticateAccessToken(token);
+        return true;
     }
 
     // refresh 토큰 정보를 검증하는 메서드
     public void validateRefreshToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(refreshKey).build().parseClaimsJws(token);
+            refreshParser.parseClaimsJws(token);
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid REFRESH token");
             throw new CustomException(ErrorCode.INVALID_REFRESH_TOKEN);
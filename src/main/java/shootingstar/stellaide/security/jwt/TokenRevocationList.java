@@ -0,0 +1,178 @@
+package shootingstar.stellaide.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.util.JwtRedisUtil;
+import shootingstar.stellaide.util.cache.BloomFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static shootingstar.stellaide.util.redis.RedisKeyspace.JWT;
+
+/**
+ * 무효화된 토큰(jti) 목록.
+ * 원본은 레디스 정렬 집합(점수는 토큰 만료 시각)이고, 서버마다 블룸 필터로 사본을 둔다.
+ * 대부분의 토큰은 무효화되지 않았으므로 필터에 없다는 답으로 레디스 조회 없이 끝나며,
+ * 필터에 있다고 나올 때만 레디스에서 확인해 오탐을 걸러낸다.
+ *
+ * 무효화는 정렬 집합에 추가한 뒤 Pub/Sub 채널로 알려 모든 서버의 필터에 바로 반영한다.
+ * 리프레시 토큰은 JwtRedisUtil 의 무효화 스크립트가 상태 변경과 함께 정렬 집합에 추가하므로 알림만 보낸다(publish).
+ * 블룸 필터는 항목을 지울 수 없으므로 rebuild-interval 마다 만료되지 않은 항목만으로 다시 만들고,
+ * 이때 연결이 끊겨 놓친 알림도 함께 반영된다.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+    private static final String REVOKED_KEY = JWT.key(JwtRedisUtil.REVOKED_TOKENS);
+    private static final String CHANNEL = JWT.key("revoked:channel");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // 다시 만드는 중인 필터. 만드는 동안 들어온 무효화도 빠지지 않도록 함께 추가한다.
+    private volatile BloomFilter rebuilding;
+    // 레디스에서 무효화를 확인한 토큰과 만료 시각. 같은 토큰을 다시 조회하지 않는다.
+    private final Map<String, Long> confirmed = new ConcurrentHashMap<>();
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder localNegatives = new LongAdder();
+    private final LongAdder remoteLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public TokenRevocationList(@Qualifier("redisTemplate") StringRedisTemplate redisTemplate,
+                               @Qualifier("chatMessageListenerContainer") RedisMessageListenerContainer listenerContainer,
+                               @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                               @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    private void init() {
+        listenerContainer.addMessageListener(new RevocationListener(), new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    public void revoke(String tokenId, long expireTime) {
+        if (tokenId == null || expireTime <= System.currentTimeMillis()) return;
+        // 정렬 집합에 먼저 추가해야 다시 만드는 중인 필터가 이 항목을 놓치지 않는다.
+        redisTemplate.opsForZSet().add(REVOKED_KEY, tokenId, expireTime);
+        publish(tokenId, expireTime);
+    }
+
+    /*
+      이미 정렬 집합에 추가된 무효화를 이 서버와 다른 서버의 필터에 반영한다.
+      알림이 실패해도 정렬 집합에는 남아 있으므로 다음 rebuild 에서 모든 서버에 반영된다.
+     */
+    public void publish(String tokenId, long expireTime) {
+        if (tokenId == null || expireTime <= System.currentTimeMillis()) return;
+        addLocally(tokenId, expireTime);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, tokenId + ":" + expireTime);
+        } catch (Exception e) {
+            log.info("토큰 무효화 알림 실패 : {}", e.getMessage());
+        }
+    }
+
+    // jti 가 없는 토큰(이 기능 이전에 발급된 토큰)은 무효화할 수 없으므로 무효화되지 않은 것으로 본다.
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) return false;
+        checks.increment();
+        if (!filter.mightContain(tokenId)) {
+            localNegatives.increment();
+            return false;
+        }
+        if (confirmed.containsKey(tokenId)) return true;
+
+        remoteLookups.increment();
+        Double expireTime;
+        try {
+            expireTime = redisTemplate.opsForZSet().score(REVOKED_KEY, tokenId);
+        } catch (Exception e) {
+            // 필터에 있는 토큰은 무효화되었을 가능성이 높으므로 확인할 수 없으면 무효화된 것으로 본다.
+            log.info("토큰 무효화 여부 확인 실패 : {}", e.getMessage());
+            return true;
+        }
+        if (expireTime == null) {
+            falsePositives.increment();
+            return false;
+        }
+        confirmed.put(tokenId, expireTime.longValue());
+        return true;
+    }
+
+    public TokenRevocationMetrics getMetrics() {
+        return new TokenRevocationMetrics(confirmed.size(), checks.sum(), localNegatives.sum(),
+                remoteLookups.sum(), falsePositives.sum(), rebuilds.sum());
+    }
+
+    /*
+      만료된 항목을 지우고 남은 항목으로 필터를 다시 만든다.
+      읽기 전에 rebuilding 을 먼저 걸어 두므로, 읽은 뒤에 추가된 무효화는 알림을 통해 새 필터에도 들어간다.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval:60000}", fixedDelayString = "${jwt.revocation.rebuild-interval:60000}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+            Long size = redisTemplate.opsForZSet().zCard(REVOKED_KEY);
+            BloomFilter next = new BloomFilter(Math.max(expectedRevocations, size == null ? 0 : size * 2), falsePositiveRate);
+            rebuilding = next;
+            Set<ZSetOperations.TypedTuple<String>> revoked = redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+            if (revoked != null) {
+                for (ZSetOperations.TypedTuple<String> tuple : revoked) {
+                    next.put(tuple.getValue());
+                }
+            }
+            filter = next;
+            rebuilds.increment();
+        } catch (Exception e) {
+            log.info("토큰 무효화 목록 갱신 실패 : {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+        confirmed.values().removeIf(expireTime -> expireTime <= now);
+    }
+
+    private void addLocally(String tokenId, long expireTime) {
+        filter.put(tokenId);
+        BloomFilter next = rebuilding;
+        if (next != null) next.put(tokenId);
+        confirmed.put(tokenId, expireTime);
+    }
+
+    private class RevocationListener implements MessageListener {
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.lastIndexOf(':');
+            if (separator < 0) return;
+            try {
+                addLocally(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                log.info("잘못된 토큰 무효화 알림 : {}", body);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package shootingstar.stellaide.security.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenRevocationMetrics {
+    private int confirmedTokens;
+    private long checks;
+    private long localNegatives;
+    private long remoteLookups;
+    private long falsePositives;
+    private long rebuilds;
+}
@@ -0,0 +1,73 @@
+package shootingstar.stellaide.security.jwt;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.util.cache.BoundedCache;
+import shootingstar.stellaide.util.cache.CacheStats;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 서명 검증을 마친 엑세스 토큰의 클레임 캐시.
+ * 같은 토큰으로 들어오는 요청은 서명 검증과 클레임 파싱 없이 캐시된 클레임으로 인증 정보를 만든다.
+ * 여러 요청이 함께 읽으므로 Authentication 같은 변경 가능한 객체 대신 불변 값(subject, 권한, jti, exp)만 보관한다.
+ * 토큰 원문 대신 SHA-256 해시를 키로 사용하고, 항목은 토큰의 만료 시각(exp)까지만 유효하다.
+ * 무효화 여부는 캐시와 별도로 확인할 수 있도록 토큰 고유번호(jti)를 함께 보관한다.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final BoundedCache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.cache = new BoundedCache<>(maxSize, 0, token -> 1);
+    }
+
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken verified = cache.get(key);
+        if (verified == null) return null;
+        if (System.currentTimeMillis() >= verified.expiresAt) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, String subject, List<GrantedAuthority> authorities, String tokenId, long expiresAt) {
+        cache.put(hash(token), new VerifiedToken(subject, List.copyOf(authorities), tokenId, expiresAt));
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static class VerifiedToken {
+        private final String subject;
+        private final List<GrantedAuthority> authorities;
+        private final String tokenId;
+        private final long expiresAt;
+
+        private VerifiedToken(String subject, List<GrantedAuthority> authorities, String tokenId, long expiresAt) {
+            this.subject = subject;
+            this.authorities = authorities;
+            this.tokenId = tokenId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package shootingstar.stellaide.service;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,20 +21,36 @@ import shootingstar.stellaide.repository.chatRoom.dto.FindAllDmMessageByRoomIdDt
 import shootingstar.stellaide.repository.chatRoom.dto.FindAllDmRoomByUserIdDto;
 import shootingstar.stellaide.repository.chatRoom.global.GlobalChatRoomRepository;
 import shootingstar.stellaide.repository.user.UserRepository;
+import shootingstar.stellaide.service.dto.ChatHistoryResDto;
 import shootingstar.stellaide.service.dto.ChatRoomDto;
 import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+import shootingstar.stellaide.service.dto.GlobalChatHistoryResDto;
+import shootingstar.stellaide.util.chat.ChatClusterBus;
+import shootingstar.stellaide.util.chat.ChatMessageWriter;
+import shootingstar.stellaide.util.chat.ChatRoomCache;
+import shootingstar.stellaide.util.chat.ChatRoomKey;
+import shootingstar.stellaide.util.chat.ChatSessionPrincipal;
+import shootingstar.stellaide.util.chat.GlobalChatLog;
+import shootingstar.stellaide.util.chat.RecentMessage;
+import shootingstar.stellaide.util.chat.RecentMessageBuffer;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import static shootingstar.stellaide.exception.ErrorCode.DENIED_PERMISSION_CHAT_ROOM;
+import static shootingstar.stellaide.exception.ErrorCode.INCORRECT_FORMAT;
 import static shootingstar.stellaide.exception.ErrorCode.NOT_FOUND_CHAT_ROOM;
 import static shootingstar.stellaide.exception.ErrorCode.USER_NOT_FOUND;
+import static shootingstar.stellaide.exception.ErrorCode.WEB_SOCKET_MESSAGE_SEND_ERROR;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ChatService {
-    private Map<Long, ChatRoomDto> containerChatRoomsDtoMap;
-    private Map<Long, ChatRoomDto> dircetChatRoomDtoMap;
+    private static final Long GLOBAL_CHAT_ROOM_ID = 999L;
+
     private ChatRoomDto globalChatRoomDto;
 
     private final ContainerChatRoomRepository containerChatRoomRepository;
@@ -47,12 +64,22 @@ public class ChatService {
 
     private final UserRepository userRepository;
 
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatRoomCache chatRoomCache;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final GlobalChatLog globalChatLog;
+    private final ChatClusterBus chatClusterBus;
+
+    @Value("${chat.history.default-limit:50}")
+    private int historyDefaultLimit;
+
+    @Value("${chat.history.max-limit:200}")
+    private int historyMaxLimit;
+
     @PostConstruct
     private void init() {
-        containerChatRoomsDtoMap = new LinkedHashMap<>();
-        dircetChatRoomDtoMap = new LinkedHashMap<>();
-        GlobalChatRoom globalChatRoom = new GlobalChatRoom(999L);
-        globalChatRoomRepository.save(globalChatRoom);
+        GlobalChatRoom globalChatRoom = globalChatRoomRepository.findById(GLOBAL_CHAT_ROOM_ID)
+                .orElseGet(() -> globalChatRoomRepository.save(new GlobalChatRoom(GLOBAL_CHAT_ROOM_ID)));
         globalChatRoomDto = ChatRoomDto.builder()
                 .roomId(globalChatRoom.getGlobalChatRoomId())
                 .name(globalChatRoom.getName())
@@ -64,8 +91,10 @@ public class ChatService {
     }
 
     public ChatRoomDto findContainerChatRoomById(Long chatRoomId) {
-        if (containerChatRoomsDtoMap.containsKey(chatRoomId)) {
-            return containerChatRoomsDtoMap.get(chatRoomId);
+        ChatRoomKey roomKey = new ChatRoomKey(ChatRoomType.CONTAINER, chatRoomId);
+        ChatRoomDto cached = chatRoomCache.get(roomKey);
+        if (cached != null) {
+            return cached;
         }
         Optional<ContainerChatRoom> chatRoomOptional = containerChatRoomRepository.findById(chatRoomId);
         if (chatRoomOptional.isEmpty()) {
@@ -76,57 +105,71 @@ public class ChatService {
                     .roomId(containerChatRoom.getChatRoomId())
                     .name(containerChatRoom.getChatRoomName())
                     .build();
-            containerChatRoomsDtoMap.put(chatRoomId, chatRoomDTO);
+            chatRoomCache.put(roomKey, chatRoomDTO);
             return chatRoomDTO;
         }
     }
 
     //컨테이너 메세지 저장
-    @Transactional
-    public void saveContainerMessage(ChatRoomMessageDto chatMessageDto, ChatRoomDto roomDto) {
-        Optional<ContainerChatRoom> optionalChatRoom = containerChatRoomRepository.findById(roomDto.getRoomId());
-        if(optionalChatRoom.isEmpty()){
-            throw new CustomException(NOT_FOUND_CHAT_ROOM);
-        }
-        ContainerChatRoom containerChatRoom = optionalChatRoom.get();
-        ContainerChatRoomMessage chatMessage = new ContainerChatRoomMessage(
-                containerChatRoom,
-                MessageType.TALK,
-                chatMessageDto.getSender(),
-                chatMessageDto.getMsg()
-        );
-        containerChatRoomMessageRepository.save(chatMessage);
+    // 채팅방 참여 권한은 웹소켓 세션에서 확인되었으므로, 저장은 대기열에 넣고 바로 돌아간다.
+    public void saveContainerMessage(ChatRoomMessageDto chatMessageDto, Long roomId) {
+        saveMessage(new ChatRoomKey(ChatRoomType.CONTAINER, roomId), chatMessageDto);
     }
 
     //컨테이너 채팅 불러오기
     public List<FindAllChatMessageByRoomIdDto> getAllMessagePage(Long roomId){
-        if (!containerChatRoomRepository.existsById(roomId)) {
-            throw new CustomException(NOT_FOUND_CHAT_ROOM);
-        }
+        findContainerChatRoomById(roomId);
         return containerChatRoomMessageRepository.findAllByRoomId(roomId);
     }
 
+    //컨테이너 채팅 불러오기 (커서 기반)
+    public ChatHistoryResDto<FindAllChatMessageByRoomIdDto> getContainerMessageHistory(String userUuid, Long roomId, Long beforeMessageId, Integer limit) {
+        findContainerChatRoomById(roomId);
+        checkChatRoomPermission(userUuid, new ChatRoomKey(ChatRoomType.CONTAINER, roomId));
+        int size = resolveHistoryLimit(limit);
+        if (beforeMessageId == null) {
+            ChatHistoryResDto<RecentMessage> recent = findRecentMessages(new ChatRoomKey(ChatRoomType.CONTAINER, roomId), size,
+                    () -> containerChatRoomMessageRepository.findMessagesBefore(roomId, null, recentMessageBuffer.getRoomCapacity()).stream()
+                            .map(dto -> new RecentMessage(dto.getMessageId(), dto.getSender(), dto.getMsg(), dto.getType(), dto.getCreateTime()))
+                            .toList());
+            if (recent != null) {
+                return new ChatHistoryResDto<>(recent.getMessages().stream().map(message -> toContainerMessageDto(roomId, message)).toList(),
+                        recent.getNextBeforeMessageId(), recent.isHasMore());
+            }
+        }
+        List<FindAllChatMessageByRoomIdDto> messages = containerChatRoomMessageRepository.findMessagesBefore(roomId, beforeMessageId, size + 1);
+        return toHistory(messages, size, FindAllChatMessageByRoomIdDto::getMessageId);
+    }
+
     /**
      * 디엠 채팅방 찾기
      */
     public ChatRoomDto findDmChatRoomById(Long chatRoomId) {
-        if (dircetChatRoomDtoMap.containsKey(chatRoomId)) {
-            return dircetChatRoomDtoMap.get(chatRoomId);
+        ChatRoomKey roomKey = new ChatRoomKey(ChatRoomType.DM, chatRoomId);
+        ChatRoomDto cached = chatRoomCache.get(roomKey);
+        if (cached != null) {
+            return cached;
         }
         Optional<DirectChatRoom> chatRoomOptional = directChatRoomRepository.findById(chatRoomId);
         if (chatRoomOptional.isEmpty()) {
-            throw new RuntimeException();
+            throw new CustomException(NOT_FOUND_CHAT_ROOM);
         } else {
             DirectChatRoom chatRoom = chatRoomOptional.get();
             ChatRoomDto chatRoomDTO = ChatRoomDto.builder()
                     .roomId(chatRoom.getDmChatRoomId())
                     .name(chatRoom.getRoomName())
                     .build();
-            dircetChatRoomDtoMap.put(chatRoomId, chatRoomDTO);
+            chatRoomCache.put(roomKey, chatRoomDTO);
             return chatRoomDTO;
         }
     }
 
+    // 채팅방이 삭제되면 캐시된 정보와 최근 메시지를 비운다.
+    public void evictChatRoom(ChatRoomKey roomKey) {
+        chatRoomCache.invalidate(roomKey);
+        recentMessageBuffer.invalidate(roomKey);
+    }
+
     //dm 채팅방 생성
     @Transactional
     public void createDirectChatRoom(String sendId, String receiveId) {
@@ -144,29 +187,74 @@ public class ChatService {
         directMiddleTableRepository.save(directMiddleTableReceive);
     }
     //dm 메세지 저장
-    @Transactional
-    public void saveDirectMessage(ChatRoomMessageDto chatMessageDto, ChatRoomDto roomDto)  {
-        Optional<DirectChatRoom> optionalDMChatRoom = directChatRoomRepository.findById(roomDto.getRoomId());
-        if(optionalDMChatRoom.isEmpty()){
-            throw new RuntimeException();
+    public void saveDirectMessage(ChatRoomMessageDto chatMessageDto, Long roomId)  {
+        saveMessage(new ChatRoomKey(ChatRoomType.DM, roomId), chatMessageDto);
+    }
+
+    //전체 채팅 메세지 저장
+    public void saveGlobalMessage(ChatRoomMessageDto chatMessageDto) {
+        globalChatLog.append(chatMessageDto.getSender(), chatMessageDto.getMsg());
+    }
+
+    //전체 채팅 불러오기 (커서 기반)
+    public GlobalChatHistoryResDto getGlobalMessageHistory(String beforeMessageId, Integer limit) {
+        if (beforeMessageId != null && !GlobalChatLog.isValidMessageId(beforeMessageId)) {
+            throw new CustomException(INCORRECT_FORMAT);
         }
-        DirectChatRoom directChatRoom = optionalDMChatRoom.get();
-        DirectChatRoomMessage directChatRoomMessage = new DirectChatRoomMessage(
-                MessageType.TALK,
-                directChatRoom,
-                chatMessageDto.getSender(),
-                chatMessageDto.getMsg());
-        directChatRoomMessageRepository.save(directChatRoomMessage);
+        return globalChatLog.read(beforeMessageId, resolveHistoryLimit(limit));
     }
 
     //디엠 채팅 불러오기
     public Page<FindAllDmMessageByRoomIdDto> getAllDMMessagePage(Long roomId, Pageable pageable){
-        if (!directChatRoomMessageRepository.existsById(roomId)) {
-            throw new CustomException(NOT_FOUND_CHAT_ROOM);
-        }
+        findDmChatRoomById(roomId);
         return directChatRoomMessageRepository.findAllDMMessageById(roomId,pageable);
     }
 
+    //디엠 채팅 불러오기 (커서 기반)
+    public ChatHistoryResDto<FindAllDmMessageByRoomIdDto> getDmMessageHistory(String userUuid, Long roomId, Long beforeMessageId, Integer limit) {
+        findDmChatRoomById(roomId);
+        checkChatRoomPermission(userUuid, new ChatRoomKey(ChatRoomType.DM, roomId));
+        int size = resolveHistoryLimit(limit);
+        if (beforeMessageId == null) {
+            ChatHistoryResDto<RecentMessage> recent = findRecentMessages(new ChatRoomKey(ChatRoomType.DM, roomId), size,
+                    () -> directChatRoomMessageRepository.findMessagesBefore(roomId, null, recentMessageBuffer.getRoomCapacity()).stream()
+                            .map(dto -> new RecentMessage(dto.getMessageId(), dto.getSender(), dto.getMsg(), MessageType.TALK, dto.getCreateTime()))
+                            .toList());
+            if (recent != null) {
+                return new ChatHistoryResDto<>(recent.getMessages().stream().map(message -> toDmMessageDto(roomId, message)).toList(),
+                        recent.getNextBeforeMessageId(), recent.isHasMore());
+            }
+        }
+        List<FindAllDmMessageByRoomIdDto> messages = directChatRoomMessageRepository.findMessagesBefore(roomId, beforeMessageId, size + 1);
+        return toHistory(messages, size, FindAllDmMessageByRoomIdDto::getMessageId);
+    }
+
+    // 웹소켓 핸드셰이크에서 인증한 사용자의 채팅 정보
+    public ChatSessionPrincipal createSessionPrincipal(String userUuid) {
+        User user = findUserByUUID(userUuid);
+        return new ChatSessionPrincipal(userUuid, user.getNickname(), findAuthorizedChatRooms(userUuid));
+    }
+
+    // 사용자가 참여할 수 있는 컨테이너(소유, 공유), DM 채팅방
+    public Set<ChatRoomKey> findAuthorizedChatRooms(String userUuid) {
+        UUID userId = UUID.fromString(userUuid);
+        Set<ChatRoomKey> rooms = new HashSet<>();
+        for (Long roomId : containerChatRoomRepository.findChatRoomIdsByUserId(userId)) {
+            rooms.add(new ChatRoomKey(ChatRoomType.CONTAINER, roomId));
+        }
+        for (FindAllDmRoomByUserIdDto room : directMiddleTableRepository.findAllByUserId(userId)) {
+            rooms.add(new ChatRoomKey(ChatRoomType.DM, room.getRoomId()));
+        }
+        return rooms;
+    }
+
+    // 웹소켓 세션과 같은 기준(findAuthorizedChatRooms)으로 채팅방 참여 권한을 확인한다.
+    private void checkChatRoomPermission(String userUuid, ChatRoomKey roomKey) {
+        if (!findAuthorizedChatRooms(userUuid).contains(roomKey)) {
+            throw new CustomException(DENIED_PERMISSION_CHAT_ROOM);
+        }
+    }
+
     /*
     채팅방 목록 불러오기
      */
@@ -174,6 +262,67 @@ public class ChatService {
         return directMiddleTableRepository.findAllByUserId(UUID.fromString(userId));
     }
 
+    /*
+      첫 페이지는 최근 메시지 버퍼에서 응답한다. 버퍼가 비어 있거나 부족하면 DB 에서 최근 메시지를 읽어 채운 뒤 다시 시도하며,
+      다른 서버의 메시지를 전달받지 못하는 채팅방(이 서버에 참여자가 없는 채팅방)은 버퍼를 믿을 수 없으므로 DB 에서 읽는다.
+      loader 는 최근 메시지를 최신 순서로 돌려준다.
+     */
+    private ChatHistoryResDto<RecentMessage> findRecentMessages(ChatRoomKey roomKey, int size, Supplier<List<RecentMessage>> loader) {
+        if (!chatClusterBus.isReceiving(roomKey)) {
+            return null;
+        }
+        ChatHistoryResDto<RecentMessage> recent = recentMessageBuffer.getLatest(roomKey, size);
+        if (recent != null || size > recentMessageBuffer.getRoomCapacity()) {
+            return recent;
+        }
+        List<RecentMessage> persisted = new ArrayList<>(loader.get());
+        Collections.reverse(persisted);
+        recentMessageBuffer.seed(roomKey, persisted);
+        return recentMessageBuffer.getLatest(roomKey, size);
+    }
+
+    /*
+      저장 대기열에 넣은 메시지만 최근 메시지 버퍼에 추가한다.
+      대기열이 가득 차 저장할 수 없는 메시지는 버퍼에 고유번호 없이 남지 않도록 추가하지 않고, 전송도 하지 않도록 거절한다.
+     */
+    private void saveMessage(ChatRoomKey roomKey, ChatRoomMessageDto chatMessageDto) {
+        RecentMessage message = toRecentMessage(chatMessageDto);
+        if (!chatMessageWriter.write(roomKey.getRoomType(), roomKey.getRoomId(), message)) {
+            throw new CustomException(WEB_SOCKET_MESSAGE_SEND_ERROR);
+        }
+        recentMessageBuffer.append(roomKey, message);
+    }
+
+    private RecentMessage toRecentMessage(ChatRoomMessageDto chatMessageDto) {
+        return new RecentMessage(null, chatMessageDto.getSender(), chatMessageDto.getMsg(), MessageType.TALK, LocalDateTime.now());
+    }
+
+    private FindAllChatMessageByRoomIdDto toContainerMessageDto(Long roomId, RecentMessage message) {
+        return new FindAllChatMessageByRoomIdDto(message.getMessageId(), roomId, message.getSender(), message.getMessage(),
+                message.getCreatedTime(), message.getMessageType());
+    }
+
+    private FindAllDmMessageByRoomIdDto toDmMessageDto(Long roomId, RecentMessage message) {
+        return new FindAllDmMessageByRoomIdDto(message.getMessageId(), roomId, message.getSender(), message.getMessage(),
+                message.getCreatedTime());
+    }
+
+    private int resolveHistoryLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return historyDefaultLimit;
+        }
+        return Math.min(limit, historyMaxLimit);
+    }
+
+    // 저장소는 최신 메시지부터 size + 1 건을 돌려준다. 초과분으로 이전 메시지 존재 여부를 판단하고, 화면 표시 순서대로 뒤집는다.
+    private <T> ChatHistoryResDto<T> toHistory(List<T> newestFirst, int size, Function<T, Long> messageIdOf) {
+        boolean hasMore = newestFirst.size() > size;
+        List<T> page = new ArrayList<>(hasMore ? newestFirst.subList(0, size) : newestFirst);
+        Collections.reverse(page);
+        Long nextBeforeMessageId = page.isEmpty() ? null : messageIdOf.apply(page.get(0));
+        return new ChatHistoryResDto<>(page, nextBeforeMessageId, hasMore);
+    }
+
     private User findUserByUUID(String userUuid) {
         Optional<User> optionalUser = userRepository.findById(UUID.fromString(userUuid));
         if (optionalUser.isEmpty()) {
@@ -3,13 +3,17 @@ package shootingstar.stellaide.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import shootingstar.stellaide.controller.dto.container.AllContainerDto;
 import shootingstar.stellaide.controller.dto.container.ContainerDto;
+import shootingstar.stellaide.controller.dto.container.FileEditDto;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
 import shootingstar.stellaide.entity.chat.ContainerChatRoom;
 import shootingstar.stellaide.service.dto.ContainerTreeResDto;
+import shootingstar.stellaide.service.dto.ExecutionJobResDto;
+import shootingstar.stellaide.service.dto.FileContentInfoDto;
 import shootingstar.stellaide.service.dto.GetRoomResDto;
+import shootingstar.stellaide.service.dto.SaveFileResDto;
 import shootingstar.stellaide.service.dto.SpringContainerResDto;
 import shootingstar.stellaide.entity.SharedUserContainer;
 import shootingstar.stellaide.entity.container.Container;
@@ -22,8 +26,27 @@ import shootingstar.stellaide.repository.sharedUserContainer.SharedUserContainer
 import shootingstar.stellaide.repository.user.UserRepository;
 import shootingstar.stellaide.security.jwt.JwtTokenProvider;
 import shootingstar.stellaide.util.SSHConnectionUtil;
-
+import shootingstar.stellaide.util.chat.ChatRoomKey;
+import shootingstar.stellaide.util.execution.ExecutionJob;
+import shootingstar.stellaide.util.execution.ExecutionJobStatus;
+import shootingstar.stellaide.util.execution.ExecutionJobType;
+import shootingstar.stellaide.util.execution.ExecutionScheduler;
+import shootingstar.stellaide.util.execution.JavaBuildCache;
+import shootingstar.stellaide.util.file.CachedFileContent;
+import shootingstar.stellaide.util.file.ContainerTreeCache;
+import shootingstar.stellaide.util.file.FileContentCache;
+import shootingstar.stellaide.util.ssh.RemoteFileStat;
+import shootingstar.stellaide.util.ssh.SSHOutputListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static shootingstar.stellaide.exception.ErrorCode.*;
 
@@ -34,6 +57,11 @@ public class ContainerService {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final SSHConnectionUtil sshConnectionUtil;
+    private final ExecutionScheduler executionScheduler;
+    private final JavaBuildCache javaBuildCache;
+    private final FileContentCache fileContentCache;
+    private final ContainerTreeCache containerTreeCache;
+    private final ChatService chatService;
     private final CheckDuplicateService duplicateService;
 
     private final UserRepository userRepository;
@@ -41,20 +69,14 @@ public class ContainerService {
     private final ContainerChatRoomRepository containerChatRoomRepository;
     private final SharedUserContainerRepository sharedUserContainerRepository;
 
-    public AllContainerDto getContainer(String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
+    public AllContainerDto getContainer(String userUuid) {
         User user = findUserByUUID(userUuid);
 
         return containerRepository.findContainer(user.getUserId());
     }
 
     @Transactional
-    public ContainerDto createContainer(ContainerType type, String name, String description, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
+    public ContainerDto createContainer(ContainerType type, String name, String description, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         if (user.getOwnedContainers().size() == 5) {
@@ -83,11 +105,8 @@ public class ContainerService {
     }
 
     @Transactional
-    public void editContainer(String containerId, String description, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
+    public void editContainer(String containerId, String description, String userUuid) {
         Container container = findContainerByUUID(containerId);
-
-        String userUuid = authentication.getName();
         User user = findUserByUUID(userUuid);
 
         checkPermissionIncludeShared(user, container);
@@ -96,25 +115,25 @@ public class ContainerService {
     }
 
     @Transactional
-    public void deleteContainer(String containerId, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
+    public void deleteContainer(String containerId, String userUuid) {
         Container container = findContainerByUUID(containerId);
-
-        String userUuid = authentication.getName();
         User user = findUserByUUID(userUuid);
 
         checkOwnerPermission(user, container);
 
         containerRepository.delete(container);
         sshConnectionUtil.deleteContainer(container.getName());
+        javaBuildCache.evict(container.getName());
+        fileContentCache.invalidateContainer(container.getName());
+        containerTreeCache.evict(container.getName());
+        if (container.getContainerChatRoom() != null) {
+            chatService.evictChatRoom(new ChatRoomKey(ChatRoomType.CONTAINER, container.getContainerChatRoom().getChatRoomId()));
+        }
     }
 
     @Transactional
-    public void shareContainer(String containerId, String userNickname, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
+    public void shareContainer(String containerId, String userNickname, String userUuid) {
         Container container = findContainerByUUID(containerId);
-
-        String userUuid = authentication.getName();
         User user = findUserByUUID(userUuid);
 
         if (user.getNickname().equals(userNickname)) {
@@ -145,11 +164,8 @@ public class ContainerService {
     }
 
     @Transactional
-    public void cancelContainerSharing(String containerId, String userNickname, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
+    public void cancelContainerSharing(String containerId, String userNickname, String userUuid) {
         Container container = findContainerByUUID(containerId);
-
-        String userUuid = authentication.getName();
         User user = findUserByUUID(userUuid);
 
         checkPermissionIncludeShared(user, container);
@@ -178,18 +194,14 @@ public class ContainerService {
         }
     }
 
-    public String getContainerType(String containerId, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public String getContainerType(String containerId, String userUuid) {
         User user = findUserByUUID(userUuid);
         Container container = findContainerByUUID(containerId);
         checkPermissionIncludeShared(user, container);
         return container.getType().toString();
     }
 
-    public GetRoomResDto getRoomInfo(String containerId, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public GetRoomResDto getRoomInfo(String containerId, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -198,29 +210,88 @@ public class ContainerService {
         return new GetRoomResDto(user.getNickname(), container.getContainerChatRoom().getChatRoomId(), container.getName());
     }
 
-    public ContainerTreeResDto getTreeInfo(String containerId, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public ContainerTreeResDto getTreeInfo(String containerId, String userUuid) {
         User user = findUserByUUID(userUuid);
         Container container = findContainerByUUID(containerId);
         checkPermissionIncludeShared(user, container);
-        String containerTree = sshConnectionUtil.getContainerTree(container.getName());
-        return parseTextToDto(containerTree, container.getName());
+        return containerTreeCache.get(container.getName(),
+                containerName -> parseTextToDto(sshConnectionUtil.getContainerTree(containerName), containerName));
     }
 
-    public String getFileContent(String containerId, String filePath, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public FileContentInfoDto getFileContentInfo(String containerId, String filePath, String userUuid) {
         User user = findUserByUUID(userUuid);
         Container container = findContainerByUUID(containerId);
         checkPermissionIncludeShared(user, container);
-        return sshConnectionUtil.getFileContent(container.getName(), filePath);
+
+        // 내용의 해시는 ETag 로 내려가 다음 변경분 저장의 기준 해시가 된다. 캐시할 수 없는 크기의 파일은 해시 없이 내려간다.
+        String containerName = container.getName();
+        CachedFileContent content;
+        synchronized (fileContentCache.lock(containerName, filePath)) {
+            RemoteFileStat stat = sshConnectionUtil.statFile(containerName, filePath);
+            content = fileContentCache.get(containerName, filePath, stat);
+            if (content == null && stat.getSize() <= fileContentCache.getMaxFileBytes()) {
+                content = loadFileContent(containerName, filePath, stat);
+            }
+            return new FileContentInfoDto(containerName, filePath, stat.getSize(), stat.getLastModifiedMillis(),
+                    content == null ? null : content.getHash());
+        }
+    }
+
+    public void writeFileContent(FileContentInfoDto fileInfo, long offset, long length, OutputStream out) throws IOException {
+        sshConnectionUtil.readFile(fileInfo.getContainerName(), fileInfo.getFilePath(), offset, length, out);
     }
 
     @Transactional
-    public void saveFile(String containerId, String filePath, String fileName, String fileContent, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public SaveFileResDto saveFile(String containerId, String filePath, String fileName, String fileContent, String userUuid) {
+        User user = findUserByUUID(userUuid);
+
+        Container container = findContainerByUUID(containerId);
+        checkPermissionIncludeShared(user, container);
+
+        String containerName = container.getName();
+        String relativePath = filePath + fileName;
+        CachedFileContent saved;
+        synchronized (fileContentCache.lock(containerName, relativePath)) {
+            saved = writeFile(containerName, filePath, fileName, fileContent);
+        }
+        container.changeEditUserNickname(user.getNickname());
+        return new SaveFileResDto(saved.getHash());
+    }
+
+    /*
+      변경분 저장. baseHash 가 원격 파일의 최신 내용의 해시와 같을 때만 편집을 적용해 저장한다.
+      캐시된 내용은 원격 파일의 크기, 수정 시각이 같을 때만 기준으로 삼는다.
+      최신 내용이 캐시에 없으면 원격 파일을 한 번 읽어와 기준으로 삼고,
+      그마저 캐시할 수 없는 크기라면 UNKNOWN_FILE_VERSION 으로 전체 저장을 요구한다.
+     */
+    @Transactional
+    public SaveFileResDto saveFileDelta(String containerId, String filePath, String fileName, String baseHash, List<FileEditDto> edits, String userUuid) {
+        User user = findUserByUUID(userUuid);
+
+        Container container = findContainerByUUID(containerId);
+        checkPermissionIncludeShared(user, container);
+
+        String containerName = container.getName();
+        String relativePath = filePath + fileName;
+        CachedFileContent saved;
+        synchronized (fileContentCache.lock(containerName, relativePath)) {
+            RemoteFileStat stat = sshConnectionUtil.statFile(containerName, relativePath);
+            CachedFileContent base = fileContentCache.get(containerName, relativePath, stat);
+            if (base == null) {
+                base = loadFileContent(containerName, relativePath, stat);
+            }
+            if (!base.getHash().equals(baseHash)) {
+                throw new CustomException(CONFLICT_FILE_VERSION);
+            }
+            saved = writeFile(containerName, filePath, fileName, applyEdits(base.getContent(), edits));
+        }
+        container.changeEditUserNickname(user.getNickname());
+        return new SaveFileResDto(saved.getHash());
+    }
+
+    // 요청 본문을 그대로 컨테이너 파일에 흘려보낸다. 빌드 캐시용 해시는 전송하면서 함께 계산한다.
+    @Transactional
+    public void saveFileStream(String containerId, String filePath, String fileName, InputStream content, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -228,14 +299,18 @@ public class ContainerService {
 
         String containerName = container.getName();
         String path = containerName + filePath;
-        sshConnectionUtil.saveFile(path, fileName, fileContent);
+        DigestInputStream digestContent = new DigestInputStream(content, JavaBuildCache.sha256());
+        synchronized (fileContentCache.lock(containerName, filePath + fileName)) {
+            // 스트리밍 저장은 내용을 들고 있지 않으므로 캐시를 비워 다음 변경분 저장이 원격 파일을 기준으로 삼게 한다.
+            fileContentCache.invalidate(containerName, filePath + fileName);
+            sshConnectionUtil.saveFile(path, fileName, digestContent);
+        }
+        javaBuildCache.recordSave(containerName, filePath + fileName, digestContent.getMessageDigest().digest());
         container.changeEditUserNickname(user.getNickname());
     }
 
     @Transactional
-    public void createFile(String containerId, String filePath, String fileName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void createFile(String containerId, String filePath, String fileName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         duplicateService.checkForbiddenFileName(fileName);
@@ -246,13 +321,14 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath;
         sshConnectionUtil.createFile(path, fileName);
+        javaBuildCache.recordCreate(containerName, filePath + fileName);
+        fileContentCache.invalidate(containerName, filePath + fileName);
+        containerTreeCache.addNode(containerName, filePath, fileName, false);
         container.changeEditUserNickname(user.getNickname());
     }
 
     @Transactional
-    public void createDirectory(String containerId, String filePath, String directoryName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void createDirectory(String containerId, String filePath, String directoryName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         duplicateService.checkForbiddenFileName(directoryName);
@@ -263,12 +339,11 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath + directoryName;
         sshConnectionUtil.createDirectory(path);
+        containerTreeCache.addNode(containerName, filePath, directoryName, true);
         container.changeEditUserNickname(user.getNickname());
     }
 
-    public void copyFile(String containerId, String filePath, String fileName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void copyFile(String containerId, String filePath, String fileName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -278,11 +353,12 @@ public class ContainerService {
         String path = containerName + filePath;
         String copyPath = containerName + filePath;
         sshConnectionUtil.copyFile(path, copyPath, fileName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.invalidate(containerName);
     }
 
-    public void copyDirectory(String containerId, String filePath, String directoryName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void copyDirectory(String containerId, String filePath, String directoryName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -292,11 +368,12 @@ public class ContainerService {
         String path = containerName + filePath;
         String copyPath = containerName + filePath;
         sshConnectionUtil.copyDirectory(path, copyPath, directoryName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.invalidate(containerName);
     }
 
-    public void moveFile(String containerId, String currentFilePath, String movedFilePath, String fileName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void moveFile(String containerId, String currentFilePath, String movedFilePath, String fileName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -306,11 +383,12 @@ public class ContainerService {
         String currentPath = containerName + currentFilePath;
         String movedPath = containerName + movedFilePath;
         sshConnectionUtil.moveFile(currentPath, movedPath, fileName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.moveNode(containerName, currentFilePath, movedFilePath, fileName);
     }
 
-    public void moveDirectory(String containerId, String currentFilePath, String movedFilePath, String directoryName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void moveDirectory(String containerId, String currentFilePath, String movedFilePath, String directoryName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -320,11 +398,12 @@ public class ContainerService {
         String currentPath = containerName + currentFilePath;
         String movedPath = containerName + movedFilePath;
         sshConnectionUtil.moveDirectory(currentPath, movedPath, directoryName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.moveNode(containerName, currentFilePath, movedFilePath, directoryName);
     }
 
-    public void renameFile(String containerId, String filePath, String fileName, String changeName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void renameFile(String containerId, String filePath, String fileName, String changeName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         duplicateService.checkForbiddenFileName(changeName);
@@ -335,11 +414,12 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath;
         sshConnectionUtil.renameFile(path, fileName, changeName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.renameNode(containerName, filePath, fileName, changeName);
     }
 
-    public void renameDirectory(String containerId, String filePath, String directoryName, String changeName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void renameDirectory(String containerId, String filePath, String directoryName, String changeName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         duplicateService.checkForbiddenFileName(changeName);
@@ -350,12 +430,13 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath;
         sshConnectionUtil.renameDirectory(path, directoryName, changeName);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.renameNode(containerName, filePath, directoryName, changeName);
     }
 
     @Transactional
-    public void deleteFile(String containerId, String filePath, String fileName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void deleteFile(String containerId, String filePath, String fileName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -364,13 +445,14 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath + fileName;
         sshConnectionUtil.deleteFile(path);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.removeNode(containerName, filePath, fileName);
         container.changeEditUserNickname(user.getNickname());
     }
 
     @Transactional
-    public void deleteDirectory(String containerId, String filePath, String directoryName, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
+    public void deleteDirectory(String containerId, String filePath, String directoryName, String userUuid) {
         User user = findUserByUUID(userUuid);
 
         Container container = findContainerByUUID(containerId);
@@ -379,32 +461,63 @@ public class ContainerService {
         String containerName = container.getName();
         String path = containerName + filePath + directoryName;
         sshConnectionUtil.deleteDirectory(path);
+        javaBuildCache.recordStructureChange(containerName);
+        fileContentCache.invalidateContainer(containerName);
+        containerTreeCache.removeNode(containerName, filePath, directoryName);
         container.changeEditUserNickname(user.getNickname());
     }
 
-    public String executionFile(String containerId, String filePath) {
-        Container container = findContainerByUUID(containerId);
+    // 작업이 끝나면 완료되는 결과를 돌려준다. 요청 스레드는 실행을 기다리지 않는다.
+    public CompletableFuture<String> executionFile(String containerId, String filePath, String userUuid) {
+        ExecutionJob job = submitExecutionJob(ExecutionJobType.FILE, containerId, filePath, userUuid, null);
+        return job.getCompletion().thenApply(done -> {
+            checkExecutionFailure(done);
+            return done.getResult();
+        });
+    }
 
-        if (!(container.getType() == ContainerType.JAVA || container.getType() == ContainerType.PYTHON)) {
-            throw new CustomException(NOT_SUPPORT_CONTAINER_TYPE);
-        }
+    public ExecutionJobResDto submitExecutionFile(String containerId, String filePath, String userUuid) {
+        ExecutionJob job = submitExecutionJob(ExecutionJobType.FILE, containerId, filePath, userUuid, null);
+        return toExecutionJobResDto(job);
+    }
 
-        String containerName = container.getName();
-        return sshConnectionUtil.executionFile(containerName, filePath, container.getType());
+    // 웹소켓 세션에는 SecurityContext 가 없으므로 실행 요청에 담긴 엑세스 토큰으로 사용자를 확인한다.
+    public ExecutionJob streamExecutionFile(String containerId, String filePath, String accessToken, SSHOutputListener listener) {
+        String userUuid = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken).getName();
+        return submitExecutionJob(ExecutionJobType.STREAM, containerId, filePath, userUuid, listener);
+    }
+
+    public ExecutionJobResDto getExecutionJob(String jobId, String userUuid) {
+        ExecutionJob job = findExecutionJob(jobId, userUuid);
+        return toExecutionJobResDto(job);
     }
 
-    public SpringContainerResDto executionSpring(String containerId) {
+    public void cancelExecutionJob(String jobId, String userUuid) {
+        ExecutionJob job = findExecutionJob(jobId, userUuid);
+        executionScheduler.cancel(job);
+    }
+
+    public CompletableFuture<SpringContainerResDto> executionSpring(String containerId, String userUuid) {
+        User user = findUserByUUID(userUuid);
+
         Container container = findContainerByUUID(containerId);
+        checkPermissionIncludeShared(user, container);
         String containerName = container.getName();
 
         if (container.getType() != ContainerType.SPRING) {
-            throw new RuntimeException();
+            throw new CustomException(NOT_SUPPORT_CONTAINER_TYPE);
         }
 
-        String resUrl = null;
-        resUrl = sshConnectionUtil.executionSpring(containerName);
-
-        return new SpringContainerResDto(resUrl);
+        ExecutionJob job = executionScheduler.submit(ExecutionJobType.SPRING, userUuid, containerId, null,
+                listener -> sshConnectionUtil.streamExecutionSpring(containerName, listener));
+        return job.getCompletion().thenApply(done -> {
+            checkExecutionFailure(done);
+            if (done.getStatus() != ExecutionJobStatus.SUCCEEDED) {
+                log.info("executionSpring output : {}", done.getError());
+                throw new CustomException(STORAGE_COMMEND_ERROR);
+            }
+            return new SpringContainerResDto(sshConnectionUtil.getSpringLogUrl(containerName));
+        });
     }
 
     public void stopSpring(String containerId) {
@@ -418,6 +531,97 @@ public class ContainerService {
         sshConnectionUtil.stopSpringContainer(containerName);
     }
 
+    private ExecutionJob submitExecutionJob(ExecutionJobType type, String containerId, String filePath, String userUuid, SSHOutputListener subscriber) {
+        User user = findUserByUUID(userUuid);
+
+        Container container = findContainerByUUID(containerId);
+        checkPermissionIncludeShared(user, container);
+
+        if (!(container.getType() == ContainerType.JAVA || container.getType() == ContainerType.PYTHON)) {
+            throw new CustomException(NOT_SUPPORT_CONTAINER_TYPE);
+        }
+
+        String containerName = container.getName();
+        ContainerType containerType = container.getType();
+        return executionScheduler.submit(type, userUuid, containerId, subscriber,
+                listener -> sshConnectionUtil.streamExecutionFile(containerName, filePath, containerType, listener));
+    }
+
+    // 다른 사용자의 실행 작업은 조회할 수 없다.
+    private ExecutionJob findExecutionJob(String jobId, String userUuid) {
+        ExecutionJob job = executionScheduler.findJob(jobId);
+        if (!job.getUserUuid().equals(userUuid)) {
+            throw new CustomException(NOT_FOUND_EXECUTION_JOB);
+        }
+        return job;
+    }
+
+    private static void checkExecutionFailure(ExecutionJob job) {
+        if (job.getErrorCode() != null) {
+            throw new CustomException(job.getErrorCode());
+        }
+        if (job.getStatus() == ExecutionJobStatus.TIMED_OUT) {
+            throw new CustomException(EXECUTION_TIMEOUT);
+        }
+    }
+
+    private static ExecutionJobResDto toExecutionJobResDto(ExecutionJob job) {
+        return new ExecutionJobResDto(
+                job.getJobId(),
+                job.getType(),
+                job.getStatus(),
+                job.getExitStatus(),
+                job.getOutput(),
+                job.getError(),
+                job.isTruncated(),
+                job.getSubmittedTime(),
+                job.getStartedTime(),
+                job.getFinishedTime());
+    }
+
+    // 파일 내용을 원격에 저장하고 빌드 캐시와 파일 캐시를 갱신한다. 호출자는 해당 파일의 캐시 락을 잡고 있어야 한다.
+    private CachedFileContent writeFile(String containerName, String filePath, String fileName, String content) {
+        String relativePath = filePath + fileName;
+        sshConnectionUtil.saveFile(containerName + filePath, fileName, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        javaBuildCache.recordSave(containerName, relativePath, content);
+        return fileContentCache.put(containerName, relativePath, content, sshConnectionUtil.statFile(containerName, relativePath));
+    }
+
+    // 호출자는 해당 파일의 캐시 락을 잡고 있어야 한다.
+    private CachedFileContent loadFileContent(String containerName, String relativePath, RemoteFileStat stat) {
+        if (stat.getSize() > fileContentCache.getMaxFileBytes()) {
+            throw new CustomException(UNKNOWN_FILE_VERSION);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) stat.getSize());
+        try {
+            sshConnectionUtil.readFile(containerName, relativePath, 0, stat.getSize(), out);
+        } catch (IOException e) {
+            throw new CustomException(STORAGE_ERROR);
+        }
+        return fileContentCache.put(containerName, relativePath, out.toString(StandardCharsets.UTF_8), stat);
+    }
+
+    // 모든 편집의 위치는 기준 내용 기준이며 서로 겹칠 수 없다.
+    static String applyEdits(String base, List<FileEditDto> edits) {
+        List<FileEditDto> sorted = new ArrayList<>(edits);
+        sorted.sort(Comparator.comparingInt(FileEditDto::getOffset));
+
+        StringBuilder sb = new StringBuilder(base.length());
+        int position = 0;
+        for (FileEditDto edit : sorted) {
+            int start = edit.getOffset();
+            int end = start + edit.getLength();
+            if (start < position || end > base.length() || end < start) {
+                throw new CustomException(INCORRECT_FORMAT_FILE_EDIT);
+            }
+            sb.append(base, position, start).append(edit.getText());
+            position = end;
+        }
+        sb.append(base, position, base.length());
+        return sb.toString();
+    }
+
         // accessToken 의 사용자 고유번호를 통해 사용자 검색
     private User findUserByUUID(String userUuid) {
         Optional<User> optionalUser = userRepository.findById(UUID.fromString(userUuid));
@@ -40,9 +40,8 @@ public class MailService {
     }
 
     public void validateCode(String key, String value) {
-        if (mailRedisUtil.hasKey(key) && mailRedisUtil.getData(key).equals(value)) {
-            mailRedisUtil.setDataExpire(key, "validate", 15 * 60 * 1000);
-        } else {
+        // 인증 번호 확인과 인증 완료 표시를 한 번에 처리한다.
+        if (value == null || !mailRedisUtil.compareAndSetDataExpire(key, value, "validate", 15 * 60 * 1000)) {
             throw new CustomException(ErrorCode.AUTH_ERROR_EMAIL);
         }
     }
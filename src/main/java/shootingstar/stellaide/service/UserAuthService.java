@@ -1,8 +1,5 @@
 package shootingstar.stellaide.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,19 +9,21 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import shootingstar.stellaide.entity.container.Container;
 import shootingstar.stellaide.entity.user.User;
 import shootingstar.stellaide.exception.CustomException;
 import shootingstar.stellaide.repository.user.UserRepository;
 import shootingstar.stellaide.security.jwt.JwtTokenProvider;
 import shootingstar.stellaide.security.jwt.TokenInfo;
-import shootingstar.stellaide.security.jwt.TokenProperty;
+import shootingstar.stellaide.security.jwt.TokenRevocationList;
 import shootingstar.stellaide.util.JwtRedisUtil;
 import shootingstar.stellaide.util.LoginListRedisUtil;
 import shootingstar.stellaide.util.MailRedisUtil;
 import shootingstar.stellaide.util.SSHConnectionUtil;
+import shootingstar.stellaide.util.activity.LoginActivityTracker;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -43,12 +42,13 @@ public class UserAuthService {
     private final JwtRedisUtil jwtRedisUtil;
     private final MailRedisUtil mailRedisUtil;
     private final LoginListRedisUtil loginListRedisUtil;
+    private final LoginActivityTracker loginActivityTracker;
     private final SSHConnectionUtil sshConnectionUtil;
 
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final JwtTokenProvider jwtTokenProvider;
-    private final TokenProperty tokenProperty;
+    private final TokenRevocationList tokenRevocationList;
     // 회원 가입
     @Transactional
     public void signup(String email, String password, String nickname) {
@@ -57,24 +57,37 @@ public class UserAuthService {
 
         checkValidPassword(password);
 
-        if (mailRedisUtil.hasKey(email) && mailRedisUtil.getData(email).equals("validate")) { // 이메일 인증을 받은 이메일 인지 확인
+        // 이메일 인증을 받은 이메일 인지 확인하면서 인증 완료 표시를 소비한다. 같은 인증으로 두 번 가입할 수 없다.
+        if ("validate".equals(mailRedisUtil.getAndDeleteData(email))) {
+            restoreValidationOnRollback(email);
             String encodePassword = passwordEncoder.encode(password); // 패스워드 암호화
-            userRepository.save(new User(email, encodePassword, nickname));
-            mailRedisUtil.deleteData(email); // 암호화된 사용자 디비에 저장
+            userRepository.save(new User(email, encodePassword, nickname)); // 암호화된 사용자 디비에 저장
         } else {
             throw new CustomException(VALIDATE_ERROR_EMAIL);
         }
     }
 
+    /*
+      가입이 커밋되지 못하면(저장 실패, 커밋 시점의 제약 조건 위반 등) 소비한 인증 완료 표시를 되돌려
+      사용자가 이메일 인증을 다시 받지 않고 가입을 다시 시도할 수 있게 한다. 유효 시간은 인증 완료 시와 같은 15분으로 다시 정한다.
+     */
+    private void restoreValidationOnRollback(String email) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    mailRedisUtil.setDataExpire(email, "validate", 15 * 60 * 1000);
+                }
+            }
+        });
+    }
+
     // 로그인
     public TokenInfo login(String email, String password, String oldRefreshToken) {
         checkValidPassword(password);
 
         if (oldRefreshToken != null) { // 만약 발급 받은 리프레시 토큰이 있다면
-            String data = jwtRedisUtil.getData(oldRefreshToken); // 해당 리프레시 토큰 무효화
-            if (data != null) {
-                expiredRefreshToken(oldRefreshToken, data);
-            }
+            publishRevoked(jwtRedisUtil.revokeRefreshToken(oldRefreshToken)); // 해당 리프레시 토큰 무효화
         }
 
         // JWT 발급
@@ -87,26 +100,12 @@ public class UserAuthService {
             // 생성한 사용자 인증정보를 통해 사로운 JWT 토큰 생성
             TokenInfo tokenInfo = jwtTokenProvider.generateToken(authentication);
 
-            // 리프레시 토큰의 만료 시간
-            long expireTimeInMilliseconds = tokenInfo.getRefreshTokenExpire();
-
-            // 리프레시 토큰의 만료 시간을 Date 객체로 변환
-            Date expireDate = new Date(expireTimeInMilliseconds);
+            // JWT redis 에 리프레시 토큰의 사용자, 상태, 만료시간 을 저장
+            String refreshTokenId = jwtTokenProvider.getRefreshTokenId(tokenInfo.getRefreshToken());
+            jwtRedisUtil.saveRefreshToken(tokenInfo.getRefreshToken(), refreshTokenId, username, tokenInfo.getRefreshTokenExpire());
 
-            // Date 객체를 원하는 형식으로 포맷팅
-            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-            String formattedDate = dateFormat.format(expireDate);
-
-            // JWT redis 에 저장될 value 정보 생성
-            String valueToStore = String.format("{\"status\":\"%s\", \"expireTime\":\"%s\"}", "active", formattedDate);
-
-            // JWT redis 에 key : 리프레시 토큰, value : 상태, 만료시간 을 저장
-            jwtRedisUtil.setDataExpire(tokenInfo.getRefreshToken(), valueToStore , tokenProperty.getREFRESH_EXPIRE());
-
-            // loginList redis 에 자장될 value 생성
-            String nowValueToStore = String.format("{\"loginTime\":\"%s\"}", dateFormat.format(new Date()));
-            // Login Redis 에 key : 사용자 고유번호, value : 마지막 활동시간 을 저장
-            loginListRedisUtil.setDataExpire(username, nowValueToStore, tokenProperty.getACCESS_EXPIRE());
+            // Login Redis 에 key : 사용자 고유번호, value : 마지막 활동시간 을 저장한다. 저장은 LoginActivityTracker 가 모아서 한다.
+            loginActivityTracker.record(username);
 
             return tokenInfo;
         } catch (AuthenticationException e) {
@@ -116,15 +115,19 @@ public class UserAuthService {
     }
 
     // 로그 아웃
-    public void logout(String refreshToken, String userUuid) {
-        // jwt redis 에서 해당 토큰의 정보를 가지고 온다.
-        String data = jwtRedisUtil.getData(refreshToken);
-        if (data != null) {
-            loginListRedisUtil.deleteData(userUuid); // 로그인 리스트에서 해당 사용자를 삭제한다.
-            expiredRefreshToken(refreshToken, data); // 해당 토큰을 무효화 시킨다.
-        } else {
+    public void logout(String refreshToken, String accessToken, String userUuid) {
+        // 해당 토큰을 무효화 시킨다. jwt redis 에 토큰 정보가 없다면 잘못된 토큰이다.
+        JwtRedisUtil.RevokedToken revoked = jwtRedisUtil.revokeRefreshToken(refreshToken);
+        if (revoked == null) {
             throw new CustomException(INVALID_REFRESH_TOKEN);
         }
+        publishRevoked(revoked);
+        // 엑세스 토큰도 만료 전까지 사용할 수 없도록 무효화 한다.
+        if (accessToken != null) {
+            jwtTokenProvider.revokeAccessToken(accessToken);
+        }
+        loginActivityTracker.remove(userUuid);
+        loginListRedisUtil.deleteData(userUuid); // 로그인 리스트에서 해당 사용자를 삭제한다.
     }
 
     // 회원탈퇴
@@ -132,7 +135,8 @@ public class UserAuthService {
     public void deleteUser(String refreshToken, String userUuid) {
         // 사용자 고유번호를 통해 사용자를 검색한다.
         User findUser = findUserByUUID(userUuid);
-        logout(refreshToken, userUuid);
+        logout(refreshToken, null, userUuid);
+        jwtRedisUtil.revokeAllRefreshTokens(userUuid).forEach(this::publishRevoked); // 다른 기기에서 발급받은 리프레시 토큰도 무효화 한다.
         if (findUser.getProfileImg() != null) {
             sshConnectionUtil.deleteProfileImg(findUser.getProfileImg());
         }
@@ -143,25 +147,20 @@ public class UserAuthService {
         userRepository.delete(findUser); // 해당 사용자를 삭제한다.
     }
 
-    public boolean checkPassword(String password, String accessToken) {
+    public boolean checkPassword(String password, String userUuid) {
         checkValidPassword(password);
 
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
         User findUser = findUserByUUID(userUuid);
 
         return passwordEncoder.matches(password, findUser.getPassword());
     }
 
     @Transactional
-    public void changePassword(String password, String newPassword, String accessToken, String refreshToken) {
+    // 엑세스 토큰은 사용자 확인이 아니라 로그아웃 시 무효화하기 위해 받는다.
+    public void changePassword(String password, String newPassword, String userUuid, String accessToken, String refreshToken) {
         checkValidPassword(password);
         checkValidPassword(newPassword);
 
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
         User findUser = findUserByUUID(userUuid);
 
         boolean passwordMatch = passwordEncoder.matches(password, findUser.getPassword());
@@ -170,7 +169,8 @@ public class UserAuthService {
             if (password.equals(newPassword)) {
                 throw new CustomException(PASSWORD_CURRENTLY_IN_USE);
             }
-            logout(refreshToken, String.valueOf(findUser.getUserId()));
+            logout(refreshToken, accessToken, String.valueOf(findUser.getUserId()));
+            jwtRedisUtil.revokeAllRefreshTokens(String.valueOf(findUser.getUserId())).forEach(this::publishRevoked); // 다른 기기의 로그인도 종료한다.
 
             String encodeNewPassword = passwordEncoder.encode(newPassword);
             findUser.changePassword(encodeNewPassword);
@@ -202,62 +202,27 @@ public class UserAuthService {
         return optionalUser.get();
     }
 
-    // 리프레시 토큰 무효화 메서드
-    private void expiredRefreshToken(String refreshToken, String data) {
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            // 토큰 데이터를 JSON 형태로 변환한다,
-            JsonNode tokenData = objectMapper.readTree(data);
-
-            // 상태 정보를 expired 로 변경한다.
-            ((ObjectNode) tokenData).put("status", "expired");
-            // JSON 형태를 다시 string 으로 변환 한다.
-            String updatedTokenDataJson = tokenData.toString();
-
-            // 현재 토큰의 만료 시간을 체크한다.
-            String expireTimeString = tokenData.get("expireTime").asText();
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-            Date expireTime = sdf.parse(expireTimeString);
-            Date now = new Date();
-
-            // 현재를 기준으로 만료까지 남은 시간을 계산한다.
-            long secondsLeft = expireTime.getTime() - now.getTime();
-
-            // 업데이트된 정보와 계산된 만료 시간을 Redis에 저장
-            if (secondsLeft > 0) {
-                jwtRedisUtil.setDataExpire(refreshToken, updatedTokenDataJson, secondsLeft);
-            } else {
-                // 이미 만료된 경우, Redis에서 해당 토큰 삭제
-                jwtRedisUtil.deleteData(refreshToken);
-            }
-        } catch (Exception e) {
-            log.info(e.getMessage());
+    /*
+      리프레시 토큰 무효화 검증
+      무효화 목록(블룸 필터)에 있는 토큰은 레디스의 토큰 상태를 읽지 않고 바로 거부한다.
+      그 밖의 토큰은 jwt redis 에 저장된 상태가 기준이며, 저장된 기록이 없는 토큰은 잘못된 토큰이다.
+     */
+    public boolean checkRefreshTokenState(String token) {
+        String tokenId = jwtTokenProvider.getRefreshTokenId(token);
+        if (tokenRevocationList.isRevoked(tokenId)) {
+            return false;
+        }
+        Boolean active = jwtRedisUtil.isActiveRefreshToken(token);
+        if (active == null) {
             throw new CustomException(INVALID_REFRESH_TOKEN);
         }
+        return active;
     }
 
-    // 리프레시 토큰 무효화 검증
-    public boolean checkRefreshTokenState(String token) {
-        // jwt redis 에서 토큰의 정보를 가지고 온다.
-        String data = jwtRedisUtil.getData(token);
-        if (data != null) {
-            try {
-                // JSON 문자열을 파싱하기 위한 ObjectMapper 객체 생성
-                ObjectMapper objectMapper = new ObjectMapper();
-                // JSON 문자열을 JsonNode로 파싱
-                JsonNode jsonNode = objectMapper.readTree(data);
-
-                // "status" 필드의 값을 가져옴
-                String status = jsonNode.get("status").asText();
-
-                // status 값이 active 가 아닌 경우 무효화 된 토큰이다.
-                return status.equals("active");
-            } catch (Exception e) {
-                // JSON 파싱 중 오류 처리
-                throw new CustomException(INVALID_REFRESH_TOKEN);
-            }
-        } else {
-            throw new CustomException(INVALID_REFRESH_TOKEN);
+    // 무효화 한 리프레시 토큰을 모든 서버의 무효화 목록에 반영한다. 레디스의 무효화 목록에는 무효화 스크립트가 이미 추가했다.
+    private void publishRevoked(JwtRedisUtil.RevokedToken revoked) {
+        if (revoked != null) {
+            tokenRevocationList.publish(revoked.getTokenId(), revoked.getExpireTime());
         }
     }
 
@@ -268,11 +233,8 @@ public class UserAuthService {
         // 새 엑세스 토큰 생성
         String newAccessToken = jwtTokenProvider.generateAccessToken(authentication, new Date().getTime());
 
-        // 로그인 리스트에 해당 사용자를 업데이트 한다.
-        String name = authentication.getName();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        String nowValueToStore = String.format("{\"loginTime\":\"%s\"}", dateFormat.format(new Date()));
-        loginListRedisUtil.setDataExpire(name, nowValueToStore, tokenProperty.getACCESS_EXPIRE());
+        // 로그인 리스트에 해당 사용자를 업데이트 한다. 요청 스레드는 레디스를 기다리지 않는다.
+        loginActivityTracker.record(authentication.getName());
 
         return newAccessToken;
     }
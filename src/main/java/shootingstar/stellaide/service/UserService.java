@@ -3,14 +3,12 @@ package shootingstar.stellaide.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import shootingstar.stellaide.service.dto.ProfileResDto;
 import shootingstar.stellaide.entity.user.User;
 import shootingstar.stellaide.exception.CustomException;
 import shootingstar.stellaide.repository.user.UserRepository;
-import shootingstar.stellaide.security.jwt.JwtTokenProvider;
 import shootingstar.stellaide.util.SSHConnectionUtil;
 
 import java.util.Optional;
@@ -24,13 +22,9 @@ import static shootingstar.stellaide.exception.ErrorCode.*;
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final JwtTokenProvider jwtTokenProvider;
     private final SSHConnectionUtil sshConnectionUtil;
 
-    public ProfileResDto getProfile(String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
+    public ProfileResDto getProfile(String userUuid) {
         User findUser = findUserByUUID(userUuid);
 
         String profileImgUrl = null;
@@ -46,10 +40,7 @@ public class UserService {
     }
 
     @Transactional
-    public void changeProfileImg(MultipartFile file, String accessToken) {
-        Authentication authentication = jwtTokenProvider.getAuthenticationFromAccessToken(accessToken);
-        String userUuid = authentication.getName();
-
+    public void changeProfileImg(MultipartFile file, String userUuid) {
         User findUser = findUserByUUID(userUuid);
         if (!file.isEmpty()) {
             String fileName = findUser.getNickname() + "_img.png";
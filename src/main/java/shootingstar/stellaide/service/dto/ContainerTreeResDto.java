@@ -1,5 +1,6 @@
 package shootingstar.stellaide.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
@@ -24,4 +25,18 @@ public class ContainerTreeResDto {
     public void addChild(ContainerTreeResDto child) {
         this.children.add(child);
     }
+
+    @JsonIgnore
+    public boolean isDirectory() {
+        return "directory".equals(type);
+    }
+
+    // 자식 목록만 새로 만든 얕은 복사본. 캐시된 트리를 고칠 때 원본을 건드리지 않기 위해 사용한다.
+    public ContainerTreeResDto copy(String name) {
+        ContainerTreeResDto copy = new ContainerTreeResDto(name, type);
+        if (children != null) {
+            copy.children.addAll(children);
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,25 @@
+package shootingstar.stellaide.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import shootingstar.stellaide.util.execution.ExecutionJobStatus;
+import shootingstar.stellaide.util.execution.ExecutionJobType;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionJobResDto {
+    private String jobId;
+    private ExecutionJobType type;
+    private ExecutionJobStatus status;
+    private Integer exitStatus;
+    private String output;
+    private String error;
+    private boolean truncated;
+    private LocalDateTime submittedTime;
+    private LocalDateTime startedTime;
+    private LocalDateTime finishedTime;
+}
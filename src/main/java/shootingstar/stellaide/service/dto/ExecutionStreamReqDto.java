@@ -0,0 +1,11 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.Data;
+
+@Data
+public class ExecutionStreamReqDto {
+    private String type; // RUN, CANCEL
+    private String containerId;
+    private String path;
+    private String accessToken;
+}
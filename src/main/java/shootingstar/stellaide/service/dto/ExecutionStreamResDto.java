@@ -0,0 +1,12 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ExecutionStreamResDto {
+    private String type; // STDOUT, STDERR, TRUNCATED, EXIT, ERROR
+    private String data; // 출력 내용 혹은 오류 코드
+    private Integer exitStatus;
+}
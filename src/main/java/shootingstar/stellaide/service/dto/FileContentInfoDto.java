@@ -0,0 +1,16 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 파일 내용을 스트리밍하기 전에 조회한 파일 정보
+@Getter
+@AllArgsConstructor
+public class FileContentInfoDto {
+    private String containerName;
+    private String filePath;
+    private long size;
+    private long lastModifiedMillis;
+    // 내용의 SHA-256 해시. 캐시할 수 없는 크기의 파일은 null 이다.
+    private String hash;
+}
@@ -0,0 +1,14 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class GlobalChatHistoryResDto {
+    private List<GlobalChatMessageDto> messages; // 오래된 메시지부터 정렬
+    private String nextBeforeMessageId; // 더 이전 메시지를 불러올 때 beforeMessageId 로 전달
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class GlobalChatMessageDto {
+    private String messageId; // 레디스 스트림 항목 ID
+    private String sender;
+    private String msg;
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,11 @@
+package shootingstar.stellaide.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 저장된 파일 내용의 SHA-256 해시. 다음 변경분 저장의 baseHash 로 사용한다.
+@Data
+@AllArgsConstructor
+public class SaveFileResDto {
+    private String hash;
+}
@@ -1,41 +1,177 @@
 package shootingstar.stellaide.util;
 
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import shootingstar.stellaide.util.redis.RedisKeyspaceClient;
 
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
 
+import static shootingstar.stellaide.util.redis.RedisKeyspace.JWT;
+
+/**
+ * 리프레시 토큰 상태 저장소.
+ * 토큰 원문 대신 SHA-256 앞 16바이트(base64url 22자)를 키로 사용하고, 상태는 레디스 해시 하나에 보관한다.
+ *
+ * rt:<digest>   해시 - u: 사용자 고유번호, j: 토큰 고유번호(jti), s: 상태(a 사용 중 / r 무효화), e: 만료 시각(ms). 토큰 만료 시각에 함께 만료된다.
+ * user:<userId> 정렬 집합 - 사용자의 사용 중인 토큰 digest, 점수는 만료 시각(ms). 목록 조회, 일괄 무효화에 사용한다.
+ *
+ * 무효화한 토큰은 만료될 때까지 상태 r 로 남겨 재사용을 막는다. 확인 후 변경하는 작업은 루아 스크립트로 한 번에 처리한다.
+ * 스크립트가 다루는 키는 모두 KEYS 로 넘기고, JWT 키 공간의 키는 같은 해시 태그({jwt})를 가지므로 레디스 클러스터에서도 같은 슬롯에 있다.
+ * 무효화한 토큰의 고유번호는 같은 스크립트 안에서 무효화 목록(revoked, TokenRevocationList 의 원본)에도 추가하므로,
+ * 상태만 바뀌고 무효화 목록에 빠지는 일이 없다. 돌려받은 고유번호와 만료 시각은 호출한 쪽에서 다른 서버에 알린다.
+ */
 @Service
 public class JwtRedisUtil {
-    private final RedisTemplate<String, Object> jwtRedis;
+    private static final String TOKEN_PREFIX = "rt:";
+    private static final String USER_PREFIX = "user:";
+    // 무효화된 토큰 고유번호(jti)의 정렬 집합. 점수는 만료 시각(ms)이다.
+    public static final String REVOKED_TOKENS = "revoked";
+    private static final String USER_FIELD = "u";
+    private static final String STATUS_FIELD = "s";
+    private static final String ACTIVE = "a";
+
+    // KEYS: 토큰, 사용자 / ARGV: 사용자 고유번호, 만료 시각, digest, 현재 시각, 토큰 고유번호
+    private static final RedisScript<Long> SAVE = new DefaultRedisScript<>(
+            "redis.call('HSET', KEYS[1], 'u', ARGV[1], 'j', ARGV[5], 's', 'a', 'e', ARGV[2]) " +
+                    "redis.call('PEXPIREAT', KEYS[1], ARGV[2]) " +
+                    "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[4]) " +
+                    "redis.call('ZADD', KEYS[2], ARGV[2], ARGV[3]) " +
+                    "local last = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES') " +
+                    "redis.call('PEXPIREAT', KEYS[2], last[2]) " +
+                    "return 1", Long.class);
+
+    // KEYS: 토큰, 사용자, 무효화 목록 / ARGV: digest, 현재 시각. [고유번호, 만료 시각] 을 돌려주며, 저장된 토큰이 없으면 빈 목록이다.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOKE = new DefaultRedisScript<>(
+            "local v = redis.call('HMGET', KEYS[1], 'j', 'e') " +
+                    "if not v[2] then return {} end " +
+                    "redis.call('HSET', KEYS[1], 's', 'r') " +
+                    "redis.call('ZREM', KEYS[2], ARGV[1]) " +
+                    "if v[1] and v[1] ~= '' and tonumber(v[2]) > tonumber(ARGV[2]) then " +
+                    "redis.call('ZADD', KEYS[3], v[2], v[1]) " +
+                    "end " +
+                    "return {v[1] or '', v[2]}", List.class);
 
-    public JwtRedisUtil(@Qualifier("redisTemplate") RedisTemplate<String, Object> jwtRedis) {
-        this.jwtRedis = jwtRedis;
+    // KEYS: 사용자, 무효화 목록, 토큰... / ARGV: 현재 시각, 토큰마다 digest. 무효화한 토큰마다 [고유번호, 만료 시각] 을 이어 붙여 돌려준다.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOKE_ALL = new DefaultRedisScript<>(
+            "local revoked = {} " +
+                    "for i = 3, #KEYS do " +
+                    "local v = redis.call('HMGET', KEYS[i], 'j', 'e') " +
+                    "if v[2] then " +
+                    "redis.call('HSET', KEYS[i], 's', 'r') " +
+                    "if v[1] and v[1] ~= '' and tonumber(v[2]) > tonumber(ARGV[1]) then " +
+                    "redis.call('ZADD', KEYS[2], v[2], v[1]) " +
+                    "end " +
+                    "table.insert(revoked, v[1] or '') " +
+                    "table.insert(revoked, v[2]) " +
+                    "end " +
+                    "redis.call('ZREM', KEYS[1], ARGV[i - 1]) " +
+                    "end " +
+                    "return revoked", List.class);
+
+    private final RedisKeyspaceClient redisKeyspaceClient;
+
+    public JwtRedisUtil(RedisKeyspaceClient redisKeyspaceClient) {
+        this.redisKeyspaceClient = redisKeyspaceClient;
     }
 
-    public void setData(String key, String value){
-        jwtRedis.opsForValue().set(key, value);
+    public void saveRefreshToken(String refreshToken, String tokenId, String userId, long expireTime) {
+        String digest = digest(refreshToken);
+        redisKeyspaceClient.execute(JWT, SAVE, List.of(TOKEN_PREFIX + digest, USER_PREFIX + userId),
+                userId, String.valueOf(expireTime), digest, String.valueOf(System.currentTimeMillis()), tokenId == null ? "" : tokenId);
     }
 
-    public void setDataExpire(String key, String value, long milliseconds){
-        jwtRedis.opsForValue().set(key, value, milliseconds, TimeUnit.MILLISECONDS);
+    /*
+      리프레시 토큰의 상태를 돌려준다.
+      사용 중이면 true, 무효화되었으면 false, 저장된 토큰이 없으면(만료 포함) null 이다.
+     */
+    public Boolean isActiveRefreshToken(String refreshToken) {
+        String status = redisKeyspaceClient.hashGet(JWT, TOKEN_PREFIX + digest(refreshToken), STATUS_FIELD);
+        return status == null ? null : status.equals(ACTIVE);
     }
 
-    public String getData(String key){
-        return (String) jwtRedis.opsForValue().get(key);
+    /*
+      리프레시 토큰을 무효화하고 토큰 고유번호와 만료 시각을 돌려준다. 이미 무효화된 토큰도 다시 돌려준다.
+      저장된 토큰이 없으면 null 이다.
+     */
+    /*
+      사용자 목록의 키는 토큰에 저장된 사용자 고유번호로 정해지므로 먼저 읽은 뒤 스크립트에 KEYS 로 넘긴다.
+      토큰의 사용자 고유번호는 바뀌지 않으므로 읽은 뒤에 달라질 수 없다.
+     */
+    public RevokedToken revokeRefreshToken(String refreshToken) {
+        String digest = digest(refreshToken);
+        String userId = redisKeyspaceClient.hashGet(JWT, TOKEN_PREFIX + digest, USER_FIELD);
+        if (userId == null) return null;
+        List<?> result = redisKeyspaceClient.execute(JWT, REVOKE, List.of(TOKEN_PREFIX + digest, USER_PREFIX + userId, REVOKED_TOKENS),
+                digest, String.valueOf(System.currentTimeMillis()));
+        List<RevokedToken> revoked = toRevokedTokens(result);
+        return revoked.isEmpty() ? null : revoked.get(0);
     }
 
-    public boolean hasKey(String key) {
-        return Boolean.TRUE.equals(jwtRedis.hasKey(key));
+    /*
+      사용자의 사용 중인 리프레시 토큰을 모두 무효화한다.
+      목록을 먼저 읽어 토큰 키를 KEYS 로 넘기며, 그 사이 새로 발급된 토큰은 목록에 남는다.
+     */
+    public List<RevokedToken> revokeAllRefreshTokens(String userId) {
+        Set<String> digests = redisKeyspaceClient.rangeByScore(JWT, USER_PREFIX + userId, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        if (digests == null || digests.isEmpty()) return List.of();
+
+        List<String> keys = new ArrayList<>(digests.size() + 2);
+        List<String> args = new ArrayList<>(digests.size() + 1);
+        keys.add(USER_PREFIX + userId);
+        keys.add(REVOKED_TOKENS);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (String digest : digests) {
+            keys.add(TOKEN_PREFIX + digest);
+            args.add(digest);
+        }
+        List<?> result = redisKeyspaceClient.execute(JWT, REVOKE_ALL, keys, args.toArray(new String[0]));
+        return toRevokedTokens(result);
     }
 
-    public void deleteData(String key){
-        jwtRedis.unlink(key);
+    // 사용자의 만료되지 않은 리프레시 토큰 digest 목록
+    public Set<String> findActiveRefreshTokens(String userId) {
+        return redisKeyspaceClient.rangeByScore(JWT, USER_PREFIX + userId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
     }
 
     public void deleteAll() {
-        Objects.requireNonNull(jwtRedis.getConnectionFactory()).getConnection().serverCommands().flushAll();
+        redisKeyspaceClient.deleteAll(JWT);
+    }
+
+    private static List<RevokedToken> toRevokedTokens(List<?> result) {
+        if (result == null) return List.of();
+        List<RevokedToken> revoked = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            String tokenId = String.valueOf(result.get(i));
+            revoked.add(new RevokedToken(tokenId.isEmpty() ? null : tokenId, Long.parseLong(String.valueOf(result.get(i + 1)))));
+        }
+        return revoked;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RevokedToken {
+        private final String tokenId;
+        private final long expireTime;
     }
 }
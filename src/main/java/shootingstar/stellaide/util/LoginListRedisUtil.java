@@ -1,41 +1,46 @@
 package shootingstar.stellaide.util;
 
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import shootingstar.stellaide.util.redis.RedisKeyspaceClient;
 
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+
+import static shootingstar.stellaide.util.redis.RedisKeyspace.LOGIN_LIST;
 
 @Service
 public class LoginListRedisUtil {
-    private final RedisTemplate<String, Object> loginListRedis;
+    private final RedisKeyspaceClient redisKeyspaceClient;
 
-    public LoginListRedisUtil(@Qualifier("redisTemplateThree") RedisTemplate<String, Object> loginListRedis) {
-        this.loginListRedis = loginListRedis;
+    public LoginListRedisUtil(RedisKeyspaceClient redisKeyspaceClient) {
+        this.redisKeyspaceClient = redisKeyspaceClient;
     }
 
     public void setData(String key, String value){
-        loginListRedis.opsForValue().set(key, value);
+        redisKeyspaceClient.set(LOGIN_LIST, key, value);
     }
 
     public void setDataExpire(String key, String value, long milliseconds){
-        loginListRedis.opsForValue().set(key, value, milliseconds, TimeUnit.MILLISECONDS);
+        redisKeyspaceClient.setExpire(LOGIN_LIST, key, value, milliseconds);
+    }
+
+    // 여러 키를 파이프라인으로 한 번에 저장한다.
+    public void setDataExpireAll(Map<String, String> values, long milliseconds) {
+        redisKeyspaceClient.setAllExpire(LOGIN_LIST, values, milliseconds);
     }
 
     public String getData(String key){
-        return (String) loginListRedis.opsForValue().get(key);
+        return redisKeyspaceClient.get(LOGIN_LIST, key);
     }
 
     public boolean hasKey(String key) {
-        return Boolean.TRUE.equals(loginListRedis.hasKey(key));
+        return redisKeyspaceClient.hasKey(LOGIN_LIST, key);
     }
 
     public void deleteData(String key){
-        loginListRedis.unlink(key);
+        redisKeyspaceClient.delete(LOGIN_LIST, key);
     }
 
     public void deleteAll() {
-        Objects.requireNonNull(loginListRedis.getConnectionFactory()).getConnection().serverCommands().flushAll();
+        redisKeyspaceClient.deleteAll(LOGIN_LIST);
     }
 }
@@ -1,41 +1,49 @@
 package shootingstar.stellaide.util;
 
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import shootingstar.stellaide.util.redis.RedisKeyspaceClient;
 
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import static shootingstar.stellaide.util.redis.RedisKeyspace.MAIL;
 
 @Service
 public class MailRedisUtil {
-    private final RedisTemplate<String, Object> mailRedis;
+    private final RedisKeyspaceClient redisKeyspaceClient;
 
-    public MailRedisUtil(@Qualifier("redisTemplateTwo") RedisTemplate<String, Object> mailRedis) {
-        this.mailRedis = mailRedis;
+    public MailRedisUtil(RedisKeyspaceClient redisKeyspaceClient) {
+        this.redisKeyspaceClient = redisKeyspaceClient;
     }
 
     public void setData(String key, String value){
-        mailRedis.opsForValue().set(key, value);
+        redisKeyspaceClient.set(MAIL, key, value);
     }
 
     public void setDataExpire(String key, String value, long milliseconds){
-        mailRedis.opsForValue().set(key, value, milliseconds, TimeUnit.MILLISECONDS);
+        redisKeyspaceClient.setExpire(MAIL, key, value, milliseconds);
     }
 
     public String getData(String key){
-        return (String) mailRedis.opsForValue().get(key);
+        return redisKeyspaceClient.get(MAIL, key);
+    }
+
+    // 값을 읽으면서 삭제한다. 인증 완료 표시처럼 한 번만 사용할 수 있는 값에 사용한다.
+    public String getAndDeleteData(String key) {
+        return redisKeyspaceClient.getAndDelete(MAIL, key);
+    }
+
+    // 현재 값이 expected 일 때만 value 로 바꾼다.
+    public boolean compareAndSetDataExpire(String key, String expected, String value, long milliseconds) {
+        return redisKeyspaceClient.compareAndSet(MAIL, key, expected, value, milliseconds);
     }
 
     public boolean hasKey(String key) {
-        return Boolean.TRUE.equals(mailRedis.hasKey(key));
+        return redisKeyspaceClient.hasKey(MAIL, key);
     }
 
     public void deleteData(String key){
-        mailRedis.unlink(key);
+        redisKeyspaceClient.delete(MAIL, key);
     }
 
     public void deleteAll() {
-        Objects.requireNonNull(mailRedis.getConnectionFactory()).getConnection().serverCommands().flushAll();
+        redisKeyspaceClient.deleteAll(MAIL);
     }
 }
@@ -0,0 +1,21 @@
+package shootingstar.stellaide.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 이름 접두어가 붙은 데몬 스레드를 생성한다.
+public class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public NamedThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -1,9 +1,10 @@
 package shootingstar.stellaide.util;
 
-import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.ChannelSftp;
-import com.jcraft.jsch.JSch;
-import com.jcraft.jsch.Session;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -12,30 +13,41 @@ import org.springframework.web.multipart.MultipartFile;
 import shootingstar.stellaide.entity.container.ContainerType;
 import shootingstar.stellaide.exception.CustomException;
 import shootingstar.stellaide.exception.ErrorCode;
-
+import shootingstar.stellaide.util.execution.JavaBuildCache;
+import shootingstar.stellaide.util.execution.JavaBuildPlan;
+import shootingstar.stellaide.util.ssh.SSHCommandExecutor;
+import shootingstar.stellaide.util.ssh.SSHCommandResult;
+import shootingstar.stellaide.util.ssh.RemoteFileStat;
+import shootingstar.stellaide.util.ssh.SSHOutputListener;
+import shootingstar.stellaide.util.ssh.SSHRunningCommand;
+import shootingstar.stellaide.util.ssh.SSHSessionLease;
+import shootingstar.stellaide.util.ssh.SSHSessionPool;
+
+import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Properties;
+import java.io.OutputStream;
+import java.util.UUID;
 
+import static shootingstar.stellaide.exception.ErrorCode.INCORRECT_FORMAT_FILE_PATH;
+import static shootingstar.stellaide.exception.ErrorCode.NOT_FOUND_FILE;
 import static shootingstar.stellaide.exception.ErrorCode.NOT_SUPPORT_IMG_TYPE;
 import static shootingstar.stellaide.exception.ErrorCode.STORAGE_COMMEND_ERROR;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class SSHConnectionUtil {
 
-    @Value("${storage.baseUrl}")
-    private String baseUrl;
+    private final SSHSessionPool sshSessionPool;
+    private final SSHCommandExecutor sshCommandExecutor;
+    private final JavaBuildCache javaBuildCache;
 
-    @Value("${storage.host}")
-    private String host;
+    // 컴파일 실패 시의 종료 코드. 사용자 프로그램의 종료 코드와 구분하기 위해 사용한다.
+    private static final int JAVAC_FAILED = 200;
+    private static final int READ_BUFFER_SIZE = 32 * 1024;
 
-    @Value("${storage.name}")
-    private String username;
-
-    @Value("${storage.password}")
-    private String password;
+    @Value("${storage.baseUrl}")
+    private String baseUrl;
 
     @Value("${storage.homePath}")
     private String homePath;
@@ -60,7 +72,7 @@ public class SSHConnectionUtil {
 
     public String listDirectory(String directory) {
         // `ls` 명령어 실행
-        return executeCommand("ls -l " + directory);
+        return executeCommand("listDirectory", "ls -l " + directory);
     }
 
     public String getProfileImgUrl(String imgFileName) {
@@ -69,7 +81,7 @@ public class SSHConnectionUtil {
 
     public void deleteProfileImg(String imgFileName) {
         String filePath = profileImgPath + imgFileName;
-        String output = executeCommand("rm -fv " + filePath);
+        String output = executeCommand("deleteProfileImg", "rm -fv " + filePath);
         log.info("deleteProfileImg output : {}", output);
     }
 
@@ -79,22 +91,8 @@ public class SSHConnectionUtil {
             throw new CustomException(NOT_SUPPORT_IMG_TYPE);
         }
 
-        JSch jsch = new JSch();
-        Session session = null;
-        ChannelSftp sftpChannel = null;
-
-        try {
-            session = jsch.getSession(username, host, 22);
-            session.setPassword(password);
-
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no");
-            session.setConfig(config);
-
-            session.connect();
-
-            sftpChannel = (ChannelSftp) session.openChannel("sftp");
-            sftpChannel.connect();
+        try (SSHSessionLease lease = sshSessionPool.borrow()) {
+            ChannelSftp sftpChannel = lease.openSftp();
 
             // 원격 디렉토리로 변경
             sftpChannel.cd(profileImgPath);
@@ -103,16 +101,11 @@ public class SSHConnectionUtil {
             // MultipartFile의 getInputStream을 사용하여 파일 콘텐츠를 직접 전송
             sftpChannel.put(file.getInputStream(), remoteFileName);
 
+        } catch (CustomException e) {
+            throw e;
         } catch (Exception e) {
             log.info(e.getMessage());
             throw new CustomException(ErrorCode.STORAGE_ERROR);
-        } finally {
-            if (sftpChannel != null) {
-                sftpChannel.disconnect();
-            }
-            if (session != null) {
-                session.disconnect();
-            }
         }
     }
 
@@ -137,13 +130,13 @@ public class SSHConnectionUtil {
 //            }
         }
         if (command != null) {
-            executeCommand(command);
+            executeCommand("createContainer", command);
         }
     }
 
     public void deleteContainer(String containerName) {
         String remotePath = containerPath + containerName;
-        String output = executeCommand("rm -rfv " + remotePath);
+        String output = executeCommand("deleteContainer", "rm -rfv " + remotePath);
         log.info("deleteContainer output : {}", output);
     }
 
@@ -151,108 +144,109 @@ public class SSHConnectionUtil {
         String remotePath = containerPath + containerName;
         String command = "cd " + remotePath + " && " + "tree -f -p";
         log.info(command);
-        return executeCommand(command);
+        return executeCommand("getContainerTree", command);
     }
 
-    public String getFileContent(String containerName, String filePath) {
+    public RemoteFileStat statFile(String containerName, String filePath) {
         String remotePath = containerPath + containerName + "/" + filePath;
-        String command = "cat " + remotePath;
-        log.info(command);
-        return executeCommand(command);
+        try (SSHSessionLease lease = sshSessionPool.borrow()) {
+            ChannelSftp sftpChannel = lease.openSftp();
+            SftpATTRS attrs = sftpChannel.stat(remotePath);
+            if (attrs.isDir()) {
+                throw new CustomException(INCORRECT_FORMAT_FILE_PATH);
+            }
+            return new RemoteFileStat(attrs.getSize(), attrs.getMTime() * 1000L);
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw new CustomException(NOT_FOUND_FILE);
+            }
+            log.info(e.getMessage());
+            throw new CustomException(ErrorCode.STORAGE_ERROR);
+        } catch (CustomException e) {
+            throw e;
+        } catch (Exception e) {
+            log.info(e.getMessage());
+            throw new CustomException(ErrorCode.STORAGE_ERROR);
+        }
     }
 
-    public void saveFile(String filePath, String fileName, String fileContent) {
-//        String remotePath = containerPath + filePath;
-//        String command = homePath + "shell/exist_file_echo.sh \"" + fileContent + "\" " + remotePath + " " + fileName;
-//        log.info(command);
-//
-//        String output = executeCommand(command);
-//        log.info(output.trim());
-//        if (output.trim().equals("Not Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
-        Path tempFilePath = null;
-        JSch jsch = new JSch();
-        Session session = null;
-        ChannelSftp sftpChannel = null;
-        ChannelExec channelExec = null;
-        String output = "";
-        String error = "";
-        int existStatus = 0;
-
-        try {
-            // 임시 파일 생성
-            tempFilePath = Files.createTempFile("tempFileForScript", ".txt");
-            log.info("Temporary file created at: " + tempFilePath.toString());
-            Files.write(tempFilePath, fileContent.getBytes());
-
-            // SSH 세션 설정
-            session = jsch.getSession(username, host, 22);
-            session.setPassword(password);
-
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no");
-            session.setConfig(config);
-
-            session.connect();
-
-            // 파일 전송
-            sftpChannel = (ChannelSftp) session.openChannel("sftp");
-            sftpChannel.connect();
-
-            String pushPath = homePath + "tmp/" + fileName;
-            sftpChannel.put(tempFilePath.toString(), pushPath);
-            sftpChannel.disconnect();
-            Files.deleteIfExists(tempFilePath);
-
-            String remotePath = containerPath + filePath;
-            // 쉘 스크립트 실행
-            String command = homePath + "shell/exist_file_echo.sh " + pushPath + " " + remotePath + " "  + fileName;
-            channelExec = (ChannelExec) session.openChannel("exec");
-            channelExec.setCommand(command);
-            channelExec.connect();
-
-            // 명령 실행 결과 읽기
-            InputStream in = channelExec.getInputStream();
-            // 명령 실행 에러(표준 에러) 읽기
-            InputStream err = channelExec.getErrStream();
-
-            channelExec.connect();
-
-            byte[] tmp = new byte[1024];
-            while (true) {
-                while (in.available() > 0) {
-                    int i = in.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    output += new String(tmp, 0, i);
-                }
-                while (err.available() > 0) {
-                    int i = err.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    error += new String(tmp, 0, i); // 에러 메시지도 output에 추가
-                }
-                if (channelExec.isClosed()) {
-                    if (in.available() > 0) continue;
-                    if (channelExec.getExitStatus() != 0) {
-                        existStatus = channelExec.getExitStatus();
-                        log.info("exit-status: {} ", channelExec.getExitStatus());
-                        log.info(error);
-                    }
-                    break;
+    /**
+     * 파일의 offset 부터 length 바이트를 out 으로 바로 흘려보낸다.
+     * 전체 내용을 메모리에 올리지 않으며, out 에 쓰다 발생한 IOException(클라이언트 연결 종료 등)은 그대로 던진다.
+     */
+    public void readFile(String containerName, String filePath, long offset, long length, OutputStream out) throws IOException {
+        String remotePath = containerPath + containerName + "/" + filePath;
+        try (SSHSessionLease lease = sshSessionPool.borrow()) {
+            ChannelSftp sftpChannel = lease.openSftp();
+            try (InputStream in = sftpChannel.get(remotePath, null, offset)) {
+                byte[] buffer = new byte[READ_BUFFER_SIZE];
+                long remaining = length;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read == -1) break;
+                    out.write(buffer, 0, read);
+                    remaining -= read;
                 }
-                Thread.sleep(1000);
+                out.flush();
+            }
+        } catch (SftpException e) {
+            log.info(e.getMessage());
+            throw new CustomException(ErrorCode.STORAGE_ERROR);
+        } catch (JSchException e) {
+            log.info(e.getMessage());
+            throw new CustomException(ErrorCode.STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 이미 존재하는 파일의 내용을 content 로 교체한다.
+     * 같은 디렉토리의 임시 이름으로 SFTP 전송한 뒤 rename 으로 바꿔치기하므로 로컬 디스크를 거치지 않고,
+     * 전송 도중 실패해도 기존 파일은 그대로 남는다. 임시 이름에 UUID 를 붙여 같은 이름의 동시 저장끼리 섞이지 않는다.
+     */
+    public void saveFile(String filePath, String fileName, InputStream content) {
+        String remoteDirectory = containerPath + filePath;
+        if (!remoteDirectory.endsWith("/")) remoteDirectory += "/";
+        String targetPath = remoteDirectory + fileName;
+        String tempPath = remoteDirectory + "." + fileName + "." + UUID.randomUUID() + ".tmp";
+
+        try (SSHSessionLease lease = sshSessionPool.borrow()) {
+            ChannelSftp sftpChannel = lease.openSftp();
+            SftpATTRS targetAttrs = statOrNull(sftpChannel, targetPath);
+            if (targetAttrs == null || targetAttrs.isDir()) {
+                throw new CustomException(STORAGE_COMMEND_ERROR);
             }
+
+            try {
+                sftpChannel.put(content, tempPath);
+                sftpChannel.chmod(targetAttrs.getPermissions() & 07777, tempPath);
+                sftpChannel.rename(tempPath, targetPath);
+            } catch (SftpException e) {
+                removeQuietly(sftpChannel, tempPath);
+                throw e;
+            }
+        } catch (CustomException e) {
+            throw e;
         } catch (Exception e) {
             log.info(e.getMessage());
             throw new CustomException(ErrorCode.STORAGE_ERROR);
-        } finally {
-            if (channelExec != null) channelExec.disconnect();
-            if (session != null) session.disconnect();
         }
+    }
 
-        if (existStatus != 0) {
-            throw new CustomException(STORAGE_COMMEND_ERROR);
+    private static SftpATTRS statOrNull(ChannelSftp sftpChannel, String remotePath) throws SftpException {
+        try {
+            return sftpChannel.stat(remotePath);
+        } catch (SftpException e) {
+            if (e.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) return null;
+            throw e;
+        }
+    }
+
+    private static void removeQuietly(ChannelSftp sftpChannel, String remotePath) {
+        try {
+            sftpChannel.rm(remotePath);
+        } catch (SftpException ignored) {
+            // 임시 파일이 만들어지기 전에 실패한 경우
         }
-//        return output;
-        log.info(output);
     }
 
     public void createFile(String filePath, String fileName) {
@@ -260,7 +254,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_file_touch.sh " + remotePath + " " + fileName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("createFile", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -270,7 +264,7 @@ public class SSHConnectionUtil {
         String command = "mkdir " + remotePath;
         log.info(command);
 
-        executeCommand(command);
+        executeCommand("createDirectory", command);
     }
 
     public void copyFile(String filePath, String copyPath, String fileName) {
@@ -279,7 +273,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_file_cp.sh " + remotePath + " " + remoteCopyPath + " " + fileName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("copyFile", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -290,7 +284,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_dir_cp.sh " + remotePath + " " + remoteCopyPath + " " + directoryName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("copyDirectory", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -301,7 +295,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_file_mv.sh " + remotePath + " " + remoteMovedPath + " " + fileName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("moveFile", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -312,7 +306,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_dir_mv.sh " + remotePath + " " + remoteMovedPath + " " + directoryName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("moveDirectory", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -322,7 +316,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_file_rename.sh " + remotePath + " " + fileName + " " + changeName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("renameFile", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -332,7 +326,7 @@ public class SSHConnectionUtil {
         String command = homePath + "shell/exist_dir_rename.sh " + remotePath + " " + directoryName + " " + changeName;
         log.info(command);
 
-        String output = executeCommand(command);
+        String output = executeCommand("renameDirectory", command);
         log.info(output.trim());
         if (output.trim().equals("Exist")) throw new CustomException(STORAGE_COMMEND_ERROR);
     }
@@ -342,7 +336,7 @@ public class SSHConnectionUtil {
         String command = "rm " + remotePath;
         log.info(command);
 
-        executeCommand(command);
+        executeCommand("deleteFile", command);
     }
 
     public void deleteDirectory(String directoryPath) {
@@ -350,102 +344,78 @@ public class SSHConnectionUtil {
         String command = "rm -r " + remotePath;
         log.info(command);
 
-        executeCommand(command);
+        executeCommand("deleteDirectory", command);
+    }
+
+    public SSHRunningCommand streamExecutionFile(String containerName, String filePath, ContainerType type, SSHOutputListener listener) {
+        if (type != ContainerType.JAVA) {
+            String command = buildExecutionCommand(containerName, filePath, type);
+            return sshCommandExecutor.stream("executionStream", command, listener);
+        }
+
+        JavaBuildPlan plan = javaBuildCache.plan(containerName);
+        String command = buildJavaCommand(containerName, filePath, plan);
+        log.info(command);
+        SSHRunningCommand running = sshCommandExecutor.stream("executionStream", command, listener);
+        // 컴파일 실패는 JAVAC_FAILED 로, 중단은 -1 로 끝나므로 그 외에는 빌드가 끝난 것으로 본다.
+        running.getCompletion().thenAccept(exitStatus ->
+                javaBuildCache.complete(plan, exitStatus >= 0 && exitStatus != JAVAC_FAILED));
+        return running;
     }
 
-    public String executionFile(String containerName, String filePath, ContainerType type) {
+    private String buildExecutionCommand(String containerName, String filePath, ContainerType type) {
         String remotePath = containerPath + containerName;
         String command = null;
         switch (type) {
-            case JAVA -> {
-                command = "shopt -s globstar && "
-                        + "javac -encoding UTF-8 -d " + remotePath + "/.bin " + remotePath + "/src/**/*.java && "
-                        + "java -Dfile.encoding=UTF-8 -cp " + remotePath + "/.bin " + filePath;
-                log.info(command);
-                break;
-            }
             case PYTHON -> {
-                command = "python3 " + remotePath + "/" + filePath;
+                // 출력이 생기는 즉시 전달되도록 버퍼링을 끈다.
+                command = "python3 -u " + remotePath + "/" + filePath;
                 log.info(command);
                 break;
             }
         }
+        return command;
+    }
 
-        JSch jsch = new JSch();
-        Session session = null;
-        ChannelExec channel = null;
-        String output = "";
-        String error = "";
-        int existStatus = 0;
-
-        try {
-            // 세션 설정
-            session = jsch.getSession(username, host, 22);
-            session.setPassword(password);
-
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no"); // 호스트 키 검증 생략
-            session.setConfig(config);
-
-            // 세션 연결
-            session.connect();
-
-            // 명령 실행을 위한 채널 열기
-            channel = (ChannelExec) session.openChannel("exec");
-            channel.setCommand(command);
-
-            // 명령 실행 결과 읽기
-            InputStream in = channel.getInputStream();
-            // 명령 실행 에러(표준 에러) 읽기
-            InputStream err = channel.getErrStream();
-
-            channel.connect();
-
-            byte[] tmp = new byte[1024];
-            while (true) {
-                while (in.available() > 0) {
-                    int i = in.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    output += new String(tmp, 0, i);
-                }
-                while (err.available() > 0) {
-                    int i = err.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    error += new String(tmp, 0, i); // 에러 메시지도 output에 추가
-                }
-                if (channel.isClosed()) {
-                    if (in.available() > 0) continue;
-                    if (channel.getExitStatus() != 0) {
-                        existStatus = channel.getExitStatus();
-                        log.info("exit-status: {} ", channel.getExitStatus());
-                        log.info(error);
-                    }
-                    break;
+    /*
+      FULL        : 삭제되거나 이름이 바뀐 클래스가 남지 않도록 .bin 을 비우고 전체를 컴파일한다.
+      INCREMENTAL : 변경된 소스와, 그 클래스 이름을 단어 단위로 참조하는 소스만 .bin 을 클래스패스로 두고 컴파일한다.
+      NONE        : .bin 이 없을 때만 전체를 컴파일한다.
+     */
+    private String buildJavaCommand(String containerName, String filePath, JavaBuildPlan plan) {
+        String remotePath = containerPath + containerName;
+        String binPath = remotePath + "/.bin";
+        String fullCompile = "javac -encoding UTF-8 -d " + binPath + " " + remotePath + "/src/**/*.java";
+
+        String compile = switch (plan.getMode()) {
+            case FULL -> "rm -rf " + binPath + " && { " + fullCompile + " || exit " + JAVAC_FAILED + "; }";
+            case INCREMENTAL -> {
+                StringBuilder sources = new StringBuilder("printf '%s\\n'");
+                StringBuilder classNames = new StringBuilder();
+                for (String path : plan.getFiles().keySet()) {
+                    sources.append(" ").append(remotePath).append(path);
+                    String fileName = path.substring(path.lastIndexOf('/') + 1);
+                    classNames.append(" -e ").append(fileName, 0, fileName.length() - ".java".length());
                 }
-                Thread.sleep(1000);
+                String dependents = "grep -rlw --include='*.java'" + classNames + " " + remotePath + "/src";
+                yield "{ javac -encoding UTF-8 -d " + binPath + " -cp " + binPath
+                        + " $( { " + sources + "; " + dependents + "; } | sort -u ) || exit " + JAVAC_FAILED + "; }";
             }
-        } catch (Exception e) {
-            log.info(e.getMessage());
-            throw new CustomException(ErrorCode.STORAGE_ERROR);
-        } finally {
-            if (channel != null) channel.disconnect();
-            if (session != null) session.disconnect();
-        }
-
-        if (existStatus != 0) {
-            return error;
-        }
+            case NONE -> "{ [ -d " + binPath + " ] || " + fullCompile + " || exit " + JAVAC_FAILED + "; }";
+        };
 
-        return output;
+        return "shopt -s globstar && " + compile + " && "
+                + "java -Dfile.encoding=UTF-8 -cp " + binPath + " " + filePath;
     }
 
-    public String executionSpring(String containerName) {
+    public SSHRunningCommand streamExecutionSpring(String containerName, SSHOutputListener listener) {
         String remotePath = containerPath + containerName;
         String command = homePath + "start_spring.sh " + remotePath;
         log.info(command);
-        String output = executeCommand(command);
-        log.info(output);
+        return sshCommandExecutor.stream("executionSpring", command, listener);
+    }
 
+    public String getSpringLogUrl(String containerName) {
         return baseUrl + "/logs/" + containerName + "/nohub.out";
     }
 
@@ -453,75 +423,17 @@ public class SSHConnectionUtil {
         String remotePath = containerPath + containerName;
         String command = homePath + "stop_spring.sh " + remotePath;
         log.info(command);
-        String output = executeCommand(command);
+        String output = executeCommand("stopSpringContainer", command);
         log.info(output);
     }
 
-    private String executeCommand(String command) {
-        JSch jsch = new JSch();
-        Session session = null;
-        ChannelExec channel = null;
-        String output = "";
-        String error = "";
-        int existStatus = 0;
-
-        try {
-            // 세션 설정
-            session = jsch.getSession(username, host, 22);
-            session.setPassword(password);
-
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no"); // 호스트 키 검증 생략
-            session.setConfig(config);
-
-            // 세션 연결
-            session.connect();
-
-            // 명령 실행을 위한 채널 열기
-            channel = (ChannelExec) session.openChannel("exec");
-            channel.setCommand(command);
-
-            // 명령 실행 결과 읽기
-            InputStream in = channel.getInputStream();
-            // 명령 실행 에러(표준 에러) 읽기
-            InputStream err = channel.getErrStream();
-
-            channel.connect();
-
-            byte[] tmp = new byte[1024];
-            while (true) {
-                while (in.available() > 0) {
-                    int i = in.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    output += new String(tmp, 0, i);
-                }
-                while (err.available() > 0) {
-                    int i = err.read(tmp, 0, 1024);
-                    if (i < 0) break;
-                    error += new String(tmp, 0, i); // 에러 메시지도 output에 추가
-                }
-                if (channel.isClosed()) {
-                    if (in.available() > 0) continue;
-                    if (channel.getExitStatus() != 0) {
-                        existStatus = channel.getExitStatus();
-                        log.info("exit-status: {} ", channel.getExitStatus());
-                        log.info(error);
-                    }
-                    break;
-                }
-                Thread.sleep(1000);
-            }
-        } catch (Exception e) {
-            log.info(e.getMessage());
-            throw new CustomException(ErrorCode.STORAGE_ERROR);
-        } finally {
-            if (channel != null) channel.disconnect();
-            if (session != null) session.disconnect();
-        }
-
-        if (existStatus != 0) {
+    private String executeCommand(String operation, String command) {
+        SSHCommandResult result = sshCommandExecutor.execute(operation, command);
+        if (!result.isSuccess()) {
+            log.info("exit-status: {} ", result.getExitStatus());
+            log.info(result.getError());
             throw new CustomException(STORAGE_COMMEND_ERROR);
         }
-        return output;
+        return result.getOutput();
     }
 }
@@ -0,0 +1,16 @@
+package shootingstar.stellaide.util.activity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LoginActivityMetrics {
+    private int trackedUsers;
+    private int pendingUsers;
+    private long recordedActivities;
+    private long coalescedActivities;
+    private long writtenActivities;
+    private long failedActivities;
+    private long batches;
+}
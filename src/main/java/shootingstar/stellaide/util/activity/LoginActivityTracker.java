@@ -0,0 +1,154 @@
+package shootingstar.stellaide.util.activity;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.security.jwt.TokenProperty;
+import shootingstar.stellaide.util.LoginListRedisUtil;
+import shootingstar.stellaide.util.NamedThreadFactory;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 사용자의 마지막 활동 시간 기록.
+ * 요청마다 레디스에 쓰는 대신 마지막 활동 시간을 메모리에만 갱신하고,
+ * 레디스(로그인 리스트)에는 사용자마다 write-interval 에 한 번만 쓴다.
+ * 쓸 사용자는 대기열에 모아 두었다가 flush-interval 마다 별도 스레드에서 파이프라인으로 한 번에 저장하므로
+ * 요청 처리 스레드는 레디스를 기다리지 않는다.
+ *
+ * 레디스 항목의 만료 시간은 마지막으로 쓴 시점부터 엑세스 토큰 만료 시간이므로, 실제보다 최대 write-interval 만큼 일찍 만료될 수 있다.
+ */
+@Slf4j
+@Component
+public class LoginActivityTracker {
+    private static final DateTimeFormatter LOGIN_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final LoginListRedisUtil loginListRedisUtil;
+    private final long expireMillis;
+    private final long writeIntervalMillis;
+    private final int batchSize;
+
+    private final Map<String, Activity> activities = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> pendingUsers = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("login-activity-"));
+
+    private final LongAdder recordedActivities = new LongAdder();
+    private final LongAdder coalescedActivities = new LongAdder();
+    private final LongAdder writtenActivities = new LongAdder();
+    private final LongAdder failedActivities = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public LoginActivityTracker(LoginListRedisUtil loginListRedisUtil,
+                                TokenProperty tokenProperty,
+                                @Value("${login-activity.write-interval:60000}") long writeIntervalMillis,
+                                @Value("${login-activity.flush-interval:1000}") long flushIntervalMillis,
+                                @Value("${login-activity.batch-size:500}") int batchSize) {
+        this.loginListRedisUtil = loginListRedisUtil;
+        this.expireMillis = tokenProperty.getACCESS_EXPIRE();
+        this.writeIntervalMillis = writeIntervalMillis;
+        this.batchSize = batchSize;
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    public void record(String userId) {
+        long now = System.currentTimeMillis();
+        recordedActivities.increment();
+        Activity activity = activities.computeIfAbsent(userId, key -> new Activity());
+        activity.lastSeen = now;
+
+        // 마지막으로 쓴 뒤 write-interval 이 지나지 않았거나 이미 대기 중이면 메모리 갱신으로 끝낸다.
+        if (now - activity.lastWritten >= writeIntervalMillis && activity.pending.compareAndSet(false, true)) {
+            pendingUsers.offer(userId);
+        } else {
+            coalescedActivities.increment();
+        }
+    }
+
+    // 로그아웃한 사용자는 대기 중인 기록이 로그인 리스트에 다시 쓰이지 않도록 잊는다.
+    public void remove(String userId) {
+        activities.remove(userId);
+    }
+
+    public LoginActivityMetrics getMetrics() {
+        return new LoginActivityMetrics(activities.size(), pendingUsers.size(), recordedActivities.sum(),
+                coalescedActivities.sum(), writtenActivities.sum(), failedActivities.sum(), batches.sum());
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.info("로그인 활동 기록 저장 실패 : {}", e.getMessage());
+        }
+        evictIdle();
+    }
+
+    private synchronized void flush() {
+        Map<String, String> batch = new HashMap<>();
+        String userId;
+        while ((userId = pendingUsers.poll()) != null) {
+            Activity activity = activities.get(userId);
+            if (activity == null) continue;
+            activity.pending.set(false);
+            activity.lastWritten = activity.lastSeen;
+            batch.put(userId, String.format("{\"loginTime\":\"%s\"}", LOGIN_TIME_FORMAT.format(Instant.ofEpochMilli(activity.lastSeen))));
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    // 실패한 기록은 다시 시도하지 않는다. 활동이 계속되는 사용자는 다음 요청에서 다시 기록된다.
+    private void write(Map<String, String> batch) {
+        try {
+            loginListRedisUtil.setDataExpireAll(batch, expireMillis);
+            writtenActivities.add(batch.size());
+            batches.increment();
+        } catch (Exception e) {
+            log.info("로그인 활동 기록 저장 실패 : {}건, {}", batch.size(), e.getMessage());
+            failedActivities.add(batch.size());
+            for (String userId : batch.keySet()) {
+                Activity activity = activities.get(userId);
+                if (activity != null) activity.lastWritten = 0;
+            }
+        }
+    }
+
+    // 로그인 리스트에서도 만료되었을 사용자는 메모리에서도 지운다.
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        activities.entrySet().removeIf(entry -> !entry.getValue().pending.get() && now - entry.getValue().lastSeen > expireMillis);
+    }
+
+    private static class Activity {
+        private volatile long lastSeen;
+        private volatile long lastWritten;
+        private final AtomicBoolean pending = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,154 @@
+package shootingstar.stellaide.util.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 무게(weight) 상한과 TTL 을 갖는 근사 LRU 캐시.
+ * 조회는 ConcurrentHashMap 조회와 마지막 사용 시각 기록뿐이라 락을 잡지 않으므로 요청마다 조회하는 경로에서도 사용할 수 있다.
+ * 상한을 넘으면 넣은 스레드가 마지막 사용 시각이 오래된 항목부터 상한의 EVICTION_TARGET 비율까지 한 번에 제거하고,
+ * 만료된 항목은 조회 시점이나 제거할 때 함께 지운다. 캐시되는 값은 불변 객체여야 한다.
+ */
+public class BoundedCache<K, V> {
+    // 넘칠 때마다 정렬하지 않도록 상한보다 조금 더 비워 둔다.
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final long maxWeight;
+    private final long ttlMillis;
+    private final ToLongFunction<V> weigher;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public BoundedCache(long maxWeight, long ttlMillis, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.ttlMillis = ttlMillis;
+        this.weigher = weigher;
+    }
+
+    public V get(K key) {
+        V value = lookup(key);
+        if (value == null) missCount.increment();
+        else hitCount.increment();
+        return value;
+    }
+
+    // 적중률 통계에 포함하지 않는 조회. 캐시된 값을 고쳐 다시 넣는 용도로 사용한다.
+    public V peek(K key) {
+        return lookup(key);
+    }
+
+    public void put(K key, V value) {
+        long entryWeight = weigher.applyAsLong(value);
+        // 상한보다 큰 값은 다른 항목을 모두 밀어내므로 저장하지 않는다.
+        if (entryWeight > maxWeight) {
+            invalidate(key);
+            return;
+        }
+
+        Entry<V> previous = entries.put(key, new Entry<>(value, entryWeight, System.currentTimeMillis()));
+        long added = entryWeight - (previous == null ? 0 : previous.weight);
+        if (weight.addAndGet(added) > maxWeight) {
+            evictOverflow();
+        }
+    }
+
+    public void invalidate(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) weight.addAndGet(-removed.weight);
+    }
+
+    public void invalidateIf(Predicate<K> keyPredicate) {
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (keyPredicate.test(entry.getKey())) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), weight.get(), maxWeight, hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        long now = System.currentTimeMillis();
+        if (isExpired(entry, now)) {
+            remove(key, entry);
+            return null;
+        }
+        // 같은 시각이면 다시 쓰지 않아 여러 스레드가 같은 항목을 읽을 때 캐시 라인을 덜 주고받는다.
+        if (entry.lastAccess != now) entry.lastAccess = now;
+        return entry.value;
+    }
+
+    // 넘친 스레드 중 하나만 정리하고, 나머지는 정리가 끝났는지 확인만 한다.
+    private void evictOverflow() {
+        synchronized (evictionLock) {
+            if (weight.get() <= maxWeight) return;
+            long now = System.currentTimeMillis();
+            long target = (long) (maxWeight * EVICTION_TARGET);
+
+            // 정렬 중에도 조회가 사용 시각을 바꾸므로 시각을 먼저 복사해 두고 정렬한다.
+            List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.lastAccess)));
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+            for (Candidate<K, V> candidate : candidates) {
+                if (isExpired(candidate.entry, now)) {
+                    remove(candidate.key, candidate.entry);
+                } else if (weight.get() > target && remove(candidate.key, candidate.entry)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    // 그 사이 새 값으로 바뀌었으면 지우지 않는다. 항목의 무게는 지운 스레드가 한 번만 뺀다.
+    private boolean remove(K key, Entry<V> entry) {
+        if (!entries.remove(key, entry)) return false;
+        weight.addAndGet(-entry.weight);
+        return true;
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlMillis > 0 && now - entry.createdAt > ttlMillis;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long weight;
+        private final long createdAt;
+        private volatile long lastAccess;
+
+        private Entry(V value, long weight, long createdAt) {
+            this.value = value;
+            this.weight = weight;
+            this.createdAt = createdAt;
+            this.lastAccess = createdAt;
+        }
+    }
+
+    private static class Candidate<K, V> {
+        private final K key;
+        private final Entry<V> entry;
+        private final long lastAccess;
+
+        private Candidate(K key, Entry<V> entry, long lastAccess) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package shootingstar.stellaide.util.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStats {
+    private int size;
+    private long weight;
+    private long maxWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
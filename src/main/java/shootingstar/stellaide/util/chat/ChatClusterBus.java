@@ -0,0 +1,162 @@
+package shootingstar.stellaide.util.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+import shootingstar.stellaide.entity.chat.MessageType;
+import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 여러 서버에 나뉘어 접속한 채팅방 참여자에게 메시지를 전달한다.
+ * 메시지는 이 서버의 참여자에게 바로 전달하고, 채팅방별 레디스 채널(chat:room:{타입}:{고유번호})로 발행한다.
+ * 각 서버는 자신에게 참여자가 있는 채팅방의 채널만 구독하므로 서버별 전송량은 그 서버의 참여자 수에 비례한다.
+ * 발행한 메시지는 발행한 서버에도 돌아오므로 서버 식별자로 걸러낸다.
+ * 서버 사이에는 JSON 으로 전달하고, 바이너리 형식은 받는 서버에서 바이너리 클라이언트가 있을 때만 만든다.
+ * 최근 메시지 버퍼는 채널을 구독하는 동안에만 채팅방의 모든 메시지를 전달받으므로, 구독이 바뀌면 해당 채팅방의 버퍼를 비운다.
+ * 다른 서버의 메시지는 그 서버가 저장하므로 고유번호 없이 버퍼에 추가하고, 커서가 필요해지면 버퍼가 DB 에서 다시 읽는다.
+ */
+@Slf4j
+@Component
+public class ChatClusterBus implements MessageListener {
+    private static final String CHANNEL_PREFIX = "chat:room:";
+    private static final char SEPARATOR = '\n';
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ChatRoomRegistry chatRoomRegistry;
+    private final ChatMessageSender chatMessageSender;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate chatRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final boolean enabled;
+
+    // 구독 중인 채팅방. 구독 변경은 채팅방별로 compute 안에서 하므로 다른 채팅방의 구독 변경, 메시지 전송을 막지 않는다.
+    private final Map<ChatRoomKey, Boolean> subscribed = new ConcurrentHashMap<>();
+
+    public ChatClusterBus(ChatRoomRegistry chatRoomRegistry,
+                          ChatMessageSender chatMessageSender,
+                          RecentMessageBuffer recentMessageBuffer,
+                          ObjectMapper objectMapper,
+                          @Qualifier("chatRedisTemplate") StringRedisTemplate chatRedisTemplate,
+                          @Qualifier("chatMessageListenerContainer") RedisMessageListenerContainer listenerContainer,
+                          @Value("${chat.cluster.enabled:true}") boolean enabled) {
+        this.chatRoomRegistry = chatRoomRegistry;
+        this.chatMessageSender = chatMessageSender;
+        this.recentMessageBuffer = recentMessageBuffer;
+        this.objectMapper = objectMapper;
+        this.chatRedisTemplate = chatRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.enabled = enabled;
+    }
+
+    public void broadcast(ChatRoomKey roomKey, ChatFrame frame) {
+        deliverLocally(roomKey, frame);
+        if (!enabled) return;
+        try {
+            chatRedisTemplate.convertAndSend(channel(roomKey), nodeId + SEPARATOR + frame.toTextMessage().getPayload());
+        } catch (Exception e) {
+            // 레디스 장애 시에도 같은 서버의 참여자에게는 이미 전달되었다.
+            log.info("채팅 메시지 발행 실패 : {}", e.getMessage());
+        }
+    }
+
+    /*
+      채팅방이 비어 있다가 참여자가 생기거나, 마지막 참여자가 나갔을 때 호출한다.
+      이 서버에 참여자가 있으면 채널을 구독하고, 없으면 구독을 해제한다.
+      호출 순서가 뒤섞여도 마지막 호출이 현재 참여 상태를 보고 맞추므로 구독 상태가 어긋나지 않는다.
+      구독 변경에 실패하면 구독하지 않은 상태로 남아 최근 메시지 버퍼를 사용하지 않는다.
+     */
+    public void syncSubscription(ChatRoomKey roomKey) {
+        if (!enabled) return;
+        subscribed.compute(roomKey, (key, current) -> {
+            boolean hasMembers = !chatRoomRegistry.getMembers(key).isEmpty();
+            if (hasMembers == (current != null)) return current;
+            recentMessageBuffer.invalidate(key);
+            try {
+                if (hasMembers) {
+                    listenerContainer.addMessageListener(this, new ChannelTopic(channel(key)));
+                    return Boolean.TRUE;
+                }
+                listenerContainer.removeMessageListener(this, new ChannelTopic(channel(key)));
+                return null;
+            } catch (Exception e) {
+                log.info("채팅 채널 구독 변경 실패 : {}", e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    // 이 서버가 채팅방의 모든 메시지를 전달받고 있는지. 최근 메시지 버퍼를 믿고 사용할 수 있는지 판단할 때 사용한다.
+    public boolean isReceiving(ChatRoomKey roomKey) {
+        return !enabled || subscribed.containsKey(roomKey);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) return;
+
+        ChatRoomKey roomKey = parseChannel(new String(message.getChannel(), StandardCharsets.UTF_8));
+        if (roomKey == null) return;
+        ChatFrame frame = ChatFrame.fromJson(objectMapper, body.substring(separator + 1));
+        appendRecent(roomKey, frame);
+        deliverLocally(roomKey, frame);
+    }
+
+    // 저장되는 메시지(DM, 컨테이너 채팅방의 TALK)만 최근 메시지 버퍼에 추가한다.
+    private void appendRecent(ChatRoomKey roomKey, ChatFrame frame) {
+        if (roomKey.getRoomType() == ChatRoomType.GLOBAL) return;
+        try {
+            ChatRoomMessageDto message = frame.getMessage();
+            if (message.getType() != MessageType.TALK) return;
+            recentMessageBuffer.append(roomKey,
+                    RecentMessage.fromRemote(message.getSender(), message.getMsg(), MessageType.TALK, LocalDateTime.now()));
+        } catch (Exception e) {
+            // 읽을 수 없는 메시지는 버퍼와 내역이 어긋날 수 있으므로 버퍼를 비운다.
+            log.info("채팅 메시지 변환 실패 : {}", e.getMessage());
+            recentMessageBuffer.invalidate(roomKey);
+        }
+    }
+
+    private void deliverLocally(ChatRoomKey roomKey, ChatFrame frame) {
+        for (WebSocketSession roomSession : chatRoomRegistry.getMembers(roomKey)) {
+            if (!roomSession.isOpen()) continue;
+            try {
+                chatMessageSender.send(roomSession, frame.messageFor(roomSession));
+            } catch (Exception e) {
+                // 다른 형식으로 바꿀 수 없는 메시지다. 같은 형식의 참여자에게는 그대로 전달된다.
+                log.info("채팅 메시지 변환 실패 : {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String channel(ChatRoomKey roomKey) {
+        return CHANNEL_PREFIX + roomKey.getRoomType() + ":" + roomKey.getRoomId();
+    }
+
+    private static ChatRoomKey parseChannel(String channel) {
+        try {
+            String[] parts = channel.substring(CHANNEL_PREFIX.length()).split(":");
+            return new ChatRoomKey(ChatRoomType.valueOf(parts[0]), Long.valueOf(parts[1]));
+        } catch (Exception e) {
+            log.info("잘못된 채팅 채널 : {}", channel);
+            return null;
+        }
+    }
+}
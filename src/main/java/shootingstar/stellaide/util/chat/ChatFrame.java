@@ -0,0 +1,86 @@
+package shootingstar.stellaide.util.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+
+import java.nio.ByteBuffer;
+
+import static shootingstar.stellaide.exception.ErrorCode.WEB_SOCKET_ERROR;
+
+/**
+ * 채팅방 참여자 모두에게 보낼 하나의 채팅 메시지.
+ * JSON, 바이너리 형식은 처음 필요할 때 한 번만 만들어 모든 참여자가 함께 사용하므로,
+ * 참여자 수와 관계없이 메시지마다 직렬화는 형식별로 한 번만 일어난다.
+ */
+public class ChatFrame {
+    private final ObjectMapper objectMapper;
+    private ChatRoomMessageDto message;
+    private TextMessage textMessage;
+    private byte[] binary;
+
+    private ChatFrame(ObjectMapper objectMapper, ChatRoomMessageDto message, TextMessage textMessage, byte[] binary) {
+        this.objectMapper = objectMapper;
+        this.message = message;
+        this.textMessage = textMessage;
+        this.binary = binary;
+    }
+
+    // 받은 JSON 은 그대로 다시 보내고, 내용은 필요할 때 읽는다.
+    public static ChatFrame fromJson(ObjectMapper objectMapper, String payload) {
+        return new ChatFrame(objectMapper, null, new TextMessage(payload), null);
+    }
+
+    public static ChatFrame fromMessage(ObjectMapper objectMapper, ChatRoomMessageDto message) {
+        return new ChatFrame(objectMapper, message, null, null);
+    }
+
+    public static ChatFrame fromBinary(ObjectMapper objectMapper, ByteBuffer payload) {
+        ChatRoomMessageDto message = ChatFrameCodec.decode(payload);
+        byte[] binary = new byte[payload.remaining()];
+        payload.duplicate().get(binary);
+        return new ChatFrame(objectMapper, message, null, binary);
+    }
+
+    public synchronized ChatRoomMessageDto getMessage() {
+        if (message == null) {
+            try {
+                message = objectMapper.readValue(textMessage.getPayload(), ChatRoomMessageDto.class);
+            } catch (JsonProcessingException e) {
+                throw new CustomException(WEB_SOCKET_ERROR);
+            }
+        }
+        return message;
+    }
+
+    public synchronized TextMessage toTextMessage() {
+        if (textMessage == null) {
+            try {
+                textMessage = new TextMessage(objectMapper.writeValueAsString(getMessage()));
+            } catch (JsonProcessingException e) {
+                throw new CustomException(WEB_SOCKET_ERROR);
+            }
+        }
+        return textMessage;
+    }
+
+    public synchronized byte[] toBinary() {
+        if (binary == null) {
+            binary = ChatFrameCodec.encode(getMessage());
+        }
+        return binary;
+    }
+
+    // 바이너리 메시지는 전송 중에 버퍼 위치가 바뀔 수 있으므로 같은 바이트 배열을 감싼 메시지를 참여자마다 새로 만든다.
+    public WebSocketMessage<?> messageFor(WebSocketSession session) {
+        if (ChatFrameCodec.BINARY_PROTOCOL.equals(session.getAcceptedProtocol())) {
+            return new BinaryMessage(toBinary());
+        }
+        return toTextMessage();
+    }
+}
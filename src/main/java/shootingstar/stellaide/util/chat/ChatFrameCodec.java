@@ -0,0 +1,103 @@
+package shootingstar.stellaide.util.chat;
+
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+import shootingstar.stellaide.entity.chat.MessageType;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static shootingstar.stellaide.exception.ErrorCode.WEB_SOCKET_ERROR;
+
+/**
+ * 채팅 메시지 바이너리 프레임 형식. 웹소켓 서브프로토콜 BINARY_PROTOCOL 로 접속한 클라이언트와 주고받는다.
+ *
+ * version(1) | type(1) | roomType(1) | roomId(8, 없으면 -1) | sender 길이(2) + UTF-8 | msg 길이(4) + UTF-8
+ *
+ * 정수는 빅 엔디언이며, 문자열 길이가 NULL_SHORT / -1 이면 null 이다.
+ * 타입 코드는 아래 배열의 위치로 정해지므로 값을 추가할 때는 배열 끝에만 추가해야 한다.
+ */
+public class ChatFrameCodec {
+    public static final String BINARY_PROTOCOL = "stellaide.chat.binary.v1";
+    public static final String JSON_PROTOCOL = "stellaide.chat.json.v1";
+
+    private static final byte VERSION = 1;
+    private static final int NULL_SHORT = 0xFFFF;
+    private static final int HEADER_BYTES = 1 + 1 + 1 + 8 + 2 + 4;
+
+    private static final MessageType[] MESSAGE_TYPES = {MessageType.ENTER, MessageType.TALK, MessageType.LEAVE};
+    private static final ChatRoomType[] ROOM_TYPES = {ChatRoomType.GLOBAL, ChatRoomType.CONTAINER, ChatRoomType.DM};
+
+    private ChatFrameCodec() {
+    }
+
+    public static byte[] encode(ChatRoomMessageDto message) {
+        byte[] sender = message.getSender() == null ? null : message.getSender().getBytes(StandardCharsets.UTF_8);
+        byte[] msg = message.getMsg() == null ? null : message.getMsg().getBytes(StandardCharsets.UTF_8);
+        if (sender != null && sender.length >= NULL_SHORT) {
+            throw new CustomException(WEB_SOCKET_ERROR);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length(sender) + length(msg));
+        buffer.put(VERSION);
+        buffer.put(code(MESSAGE_TYPES, message.getType()));
+        buffer.put(code(ROOM_TYPES, message.getRoomType()));
+        buffer.putLong(message.getRoomId() == null ? -1 : message.getRoomId());
+        buffer.putShort((short) (sender == null ? NULL_SHORT : sender.length));
+        if (sender != null) buffer.put(sender);
+        buffer.putInt(msg == null ? -1 : msg.length);
+        if (msg != null) buffer.put(msg);
+        return buffer.array();
+    }
+
+    public static ChatRoomMessageDto decode(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        try {
+            if (buffer.get() != VERSION) {
+                throw new CustomException(WEB_SOCKET_ERROR);
+            }
+            MessageType type = value(MESSAGE_TYPES, buffer.get());
+            ChatRoomType roomType = value(ROOM_TYPES, buffer.get());
+            long roomId = buffer.getLong();
+            String sender = readString(buffer, buffer.getShort() & 0xFFFF, NULL_SHORT);
+            String msg = readString(buffer, buffer.getInt(), -1);
+            if (buffer.hasRemaining()) {
+                throw new CustomException(WEB_SOCKET_ERROR);
+            }
+            return new ChatRoomMessageDto(type, roomId == -1 ? null : roomId, sender, msg, roomType);
+        } catch (BufferUnderflowException e) {
+            throw new CustomException(WEB_SOCKET_ERROR);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int length, int nullLength) {
+        if (length == nullLength) return null;
+        if (length < 0 || length > buffer.remaining()) {
+            throw new CustomException(WEB_SOCKET_ERROR);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    // null 은 -1 로 보낸다. 읽는 쪽에서 알 수 없는 코드와 같이 처리되어 메시지가 거절된다.
+    private static <T> byte code(T[] values, T value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return (byte) i;
+        }
+        return -1;
+    }
+
+    private static <T> T value(T[] values, byte code) {
+        if (code < 0 || code >= values.length) {
+            throw new CustomException(WEB_SOCKET_ERROR);
+        }
+        return values[code];
+    }
+}
@@ -0,0 +1,82 @@
+package shootingstar.stellaide.util.chat;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import shootingstar.stellaide.util.NamedThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 세션별 전송 대기열을 관리한다.
+ * 메시지를 보내는 쪽(채팅 핸들러 스레드)은 대기열에 넣고 바로 돌아가므로 느린 클라이언트 하나가 다른 참여자로의 전송을 막지 않는다.
+ */
+@Component
+public class ChatMessageSender {
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Map<String, OutboundSessionQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("chat-send-"));
+    private final Counters counters = new Counters();
+
+    public ChatMessageSender(@Value("${chat.outbound.send-time-limit:10000}") long sendTimeLimitMillis,
+                             @Value("${chat.outbound.buffer-size-limit:524288}") int bufferSizeLimit,
+                             @Value("${chat.outbound.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    public void register(WebSocketSession session) {
+        queues.put(session.getId(), new OutboundSessionQueue(session, sendExecutor, sendTimeLimitMillis, bufferSizeLimit, overflowPolicy, counters));
+    }
+
+    public void unregister(WebSocketSession session) {
+        OutboundSessionQueue queue = queues.remove(session.getId());
+        if (queue != null) queue.discard();
+    }
+
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        OutboundSessionQueue queue = queues.get(session.getId());
+        if (queue != null) queue.offer(message);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.outbound.check-interval:1000}")
+    public void checkSendTime() {
+        queues.values().forEach(OutboundSessionQueue::checkSendTime);
+    }
+
+    public ChatOutboundMetrics getMetrics() {
+        long queuedMessages = 0;
+        long queuedBytes = 0;
+        int maxQueueDepth = 0;
+        for (OutboundSessionQueue queue : queues.values()) {
+            int depth = queue.getQueuedMessages();
+            queuedMessages += depth;
+            queuedBytes += queue.getQueuedBytes();
+            maxQueueDepth = Math.max(maxQueueDepth, depth);
+        }
+        return new ChatOutboundMetrics(queues.size(), queuedMessages, queuedBytes, maxQueueDepth,
+                counters.sent.sum(), counters.dropped.sum(), counters.slowConsumerClosed.sum());
+    }
+
+    static class Counters {
+        final LongAdder sent = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder slowConsumerClosed = new LongAdder();
+    }
+}
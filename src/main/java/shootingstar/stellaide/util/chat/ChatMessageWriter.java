@@ -0,0 +1,259 @@
+package shootingstar.stellaide.util.chat;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+import shootingstar.stellaide.util.NamedThreadFactory;
+import shootingstar.stellaide.util.metrics.LatencyHistogram;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지 지연 저장(write-behind).
+ * 메시지는 메모리 대기열에 넣기만 하고 바로 돌아가므로 전송이 DB 커밋을 기다리지 않는다.
+ * 대기열은 batch-size 만큼 쌓이거나 flush-interval 이 지나면 JDBC 배치 insert 로 한 번에 저장되며,
+ * 서버 종료 시에는 남은 메시지를 모두 저장한 뒤 종료한다.
+ * 대기열이 가득 차면 저장 스레드에 바로 비우도록 요청하고 offer-timeout 동안만 자리가 나기를 기다린다.
+ * 그래도 자리가 없으면 메시지를 받지 않고(false) droppedMessages 로 집계하며, 호출한 쪽은 메시지를 전송하지 않고 거절한다.
+ *
+ * 배치가 제약 조건 위반으로 실패하면 한 건씩 다시 저장해 문제가 된 메시지(삭제된 채팅방 등)만 버리고,
+ * DB 연결 장애처럼 그 밖의 이유로 실패하면 대기열 앞에 되돌려 다음 주기에 다시 시도한다.
+ * MySQL 에서 실제로 한 번의 요청으로 묶이려면 JDBC URL 에 rewriteBatchedStatements=true 가 필요하다.
+ * 저장된 메시지에는 생성된 고유번호를 채워 최근 메시지 버퍼가 채팅 내역의 커서로 사용할 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+    private static final String INSERT_CONTAINER_MESSAGE =
+            "insert into container_chat_room_message (chat_room_id, message_type, sender, message, created_time, last_modified_time) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DIRECT_MESSAGE =
+            "insert into direct_chat_room_message (dm_chat_room_id, message_type, sender, message, created_time, last_modified_time) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final BlockingDeque<PendingMessage> queue;
+
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("chat-persist-"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder persistedMessages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${chat.persist.batch-size:500}") int batchSize,
+                             @Value("${chat.persist.queue-capacity:100000}") int queueCapacity,
+                             @Value("${chat.persist.flush-interval:200}") long flushIntervalMillis,
+                             @Value("${chat.persist.offer-timeout:50}") long offerTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!queue.isEmpty()) {
+            log.info("저장하지 못한 채팅 메시지 : {}건", queue.size());
+        }
+    }
+
+    // 저장 대기열에 넣었는지 돌려준다.
+    public boolean write(ChatRoomType roomType, Long roomId, RecentMessage message) {
+        PendingMessage pending = new PendingMessage(roomType, roomId, message);
+        if (!queue.offerLast(pending)) {
+            // 대기열이 가득 찼다면 DB 가 따라오지 못하는 상황이다. 호출한 웹소켓 스레드는 저장을 직접 하지 않고 잠깐만 기다린다.
+            requestFlush();
+            if (!offerWithTimeout(pending)) {
+                droppedMessages.increment();
+                log.info("채팅 메시지 저장 대기열이 가득 차 메시지를 거절합니다 : {} {}", roomType, roomId);
+                return false;
+            }
+        }
+
+        if (queue.size() >= batchSize) {
+            requestFlush();
+        }
+        return true;
+    }
+
+    public ChatPersistMetrics getMetrics() {
+        long batchCount = batches.sum();
+        long persisted = persistedMessages.sum();
+        return new ChatPersistMetrics(queue.size(), persisted, failedMessages.sum(), droppedMessages.sum(), batchCount,
+                batchCount == 0 ? 0 : (double) persisted / batchCount, maxBatchSize.get(), flushLatency.snapshot());
+    }
+
+    // 이미 요청해 두었다면 다시 요청하지 않는다.
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flushSafely();
+            });
+        }
+    }
+
+    private boolean offerWithTimeout(PendingMessage pending) {
+        try {
+            return queue.offerLast(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.info("채팅 메시지 저장 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 저장 스레드와 종료 시 호출될 수 있으므로 한 번에 하나만 실행한다.
+    private synchronized void flush() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!writeBatch(batch)) return;
+            batch.clear();
+        }
+    }
+
+    private boolean writeBatch(List<PendingMessage> batch) {
+        long startNanos = System.nanoTime();
+        List<PendingMessage> containerMessages = new ArrayList<>();
+        List<PendingMessage> directMessages = new ArrayList<>();
+        for (PendingMessage pending : batch) {
+            if (pending.roomType == ChatRoomType.DM) directMessages.add(pending);
+            else containerMessages.add(pending);
+        }
+
+        try {
+            // 배치 전체를 한 트랜잭션으로 묶어, 실패하면 아무것도 저장되지 않은 상태에서 다시 시도할 수 있게 한다.
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(INSERT_CONTAINER_MESSAGE, containerMessages);
+                insert(INSERT_DIRECT_MESSAGE, directMessages);
+            });
+            persistedMessages.add(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            log.info("채팅 메시지 배치 저장 실패, 한 건씩 다시 저장합니다 : {}", e.getMessage());
+            clearMessageIds(batch);
+            writeOneByOne(batch);
+        } catch (Exception e) {
+            log.info("채팅 메시지 배치 저장 실패, 다음 주기에 다시 시도합니다 : {}", e.getMessage());
+            clearMessageIds(batch);
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (!queue.offerFirst(batch.get(i))) failedMessages.increment();
+            }
+            return false;
+        }
+
+        flushLatency.recordSince(startNanos);
+        batches.increment();
+        maxBatchSize.accumulateAndGet(batch.size(), Math::max);
+        return true;
+    }
+
+    // 삭제된 채팅방의 메시지처럼 제약 조건을 어기는 메시지만 버리고 나머지는 저장한다.
+    private void writeOneByOne(List<PendingMessage> batch) {
+        for (PendingMessage pending : batch) {
+            try {
+                insert(pending.roomType == ChatRoomType.DM ? INSERT_DIRECT_MESSAGE : INSERT_CONTAINER_MESSAGE, List.of(pending));
+                persistedMessages.increment();
+            } catch (Exception e) {
+                log.info("채팅 메시지 저장 실패, 메시지를 버립니다 : {} {}", pending.roomType, pending.roomId);
+                failedMessages.increment();
+            }
+        }
+    }
+
+    // 되돌려진 트랜잭션에서 받은 고유번호는 존재하지 않는 메시지를 가리키므로 지운다.
+    private void clearMessageIds(List<PendingMessage> batch) {
+        for (PendingMessage pending : batch) {
+            pending.message.assignMessageId(null);
+        }
+    }
+
+    private void insert(String sql, List<PendingMessage> messages) {
+        if (messages.isEmpty()) return;
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingMessage pending = messages.get(i);
+                Timestamp createdTime = Timestamp.valueOf(pending.message.getCreatedTime());
+                ps.setLong(1, pending.roomId);
+                ps.setString(2, pending.message.getMessageType().name());
+                ps.setString(3, pending.message.getSender());
+                ps.setString(4, pending.message.getMessage());
+                ps.setTimestamp(5, createdTime);
+                ps.setTimestamp(6, createdTime);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return messages.size();
+            }
+        }, keyHolder);
+
+        // 생성된 키는 insert 순서대로 돌아온다. 커밋 전에 채워 두어야 DB 에 보이는 메시지는 항상 고유번호를 갖는다.
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < messages.size(); i++) {
+            Iterator<Object> values = keys.get(i).values().iterator();
+            if (values.hasNext() && values.next() instanceof Number key) {
+                messages.get(i).message.assignMessageId(key.longValue());
+            }
+        }
+    }
+
+    private static class PendingMessage {
+        private final ChatRoomType roomType;
+        private final Long roomId;
+        private final RecentMessage message;
+
+        private PendingMessage(ChatRoomType roomType, Long roomId, RecentMessage message) {
+            this.roomType = roomType;
+            this.roomId = roomId;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ChatOutboundMetrics {
+    private int sessions;
+    private long queuedMessages;
+    private long queuedBytes;
+    private int maxQueueDepth;
+    private long sentMessages;
+    private long droppedMessages;
+    private long slowConsumerClosed;
+}
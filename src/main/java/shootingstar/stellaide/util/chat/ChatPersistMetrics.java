@@ -0,0 +1,18 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import shootingstar.stellaide.util.metrics.LatencySnapshot;
+
+@Data
+@AllArgsConstructor
+public class ChatPersistMetrics {
+    private int pendingMessages;
+    private long persistedMessages;
+    private long failedMessages;
+    private long droppedMessages; // 대기열이 가득 차 저장하지 못하고 버린 메시지
+    private long batches;
+    private double averageBatchSize;
+    private int maxBatchSize;
+    private LatencySnapshot flushLatency;
+}
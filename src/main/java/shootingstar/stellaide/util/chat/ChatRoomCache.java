@@ -0,0 +1,38 @@
+package shootingstar.stellaide.util.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.service.dto.ChatRoomDto;
+import shootingstar.stellaide.util.cache.BoundedCache;
+import shootingstar.stellaide.util.cache.CacheStats;
+
+/**
+ * 컨테이너, DM 채팅방 정보 캐시.
+ * 웹소켓 메시지마다 채팅방 존재 여부를 확인하므로 DB 조회 대신 이 캐시를 사용한다.
+ * 채팅방 수(max-rooms)와 TTL 로 제한되며, 채팅방이 삭제되면 해당 항목을 비운다.
+ */
+@Component
+public class ChatRoomCache {
+    private final BoundedCache<ChatRoomKey, ChatRoomDto> cache;
+
+    public ChatRoomCache(@Value("${chat.room-cache.max-rooms:10000}") long maxRooms,
+                         @Value("${chat.room-cache.ttl:600000}") long ttlMillis) {
+        this.cache = new BoundedCache<>(maxRooms, ttlMillis, room -> 1);
+    }
+
+    public ChatRoomDto get(ChatRoomKey roomKey) {
+        return cache.get(roomKey);
+    }
+
+    public void put(ChatRoomKey roomKey, ChatRoomDto room) {
+        cache.put(roomKey, room);
+    }
+
+    public void invalidate(ChatRoomKey roomKey) {
+        cache.invalidate(roomKey);
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,17 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+
+// 채팅방 타입마다 고유번호 체계가 다르므로 타입과 고유번호를 함께 키로 사용한다.
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ChatRoomKey {
+    private final ChatRoomType roomType;
+    private final Long roomId;
+}
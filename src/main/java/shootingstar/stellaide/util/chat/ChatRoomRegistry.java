@@ -0,0 +1,85 @@
+package shootingstar.stellaide.util.chat;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별로 참여 중인 웹소켓 세션을 관리한다.
+ * 메시지는 해당 채팅방의 세션에만 전달되므로 전송 비용이 전체 접속자 수가 아닌 채팅방 인원에 비례한다.
+ * 채팅방의 참여자 집합은 compute 안에서만 만들고 지우므로, 마지막 참여자가 나가는 것과 새 참여자가 들어오는 것이 겹쳐도 참여가 사라지지 않는다.
+ * 참여, 퇴장은 채팅방이 비어 있다가 참여자가 생겼는지, 마지막 참여자가 나가 비었는지를 돌려주어
+ * 채널 구독처럼 그때만 필요한 작업을 메시지마다 하지 않도록 한다.
+ */
+@Component
+public class ChatRoomRegistry {
+    private final Map<ChatRoomKey, Set<WebSocketSession>> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Set<ChatRoomKey>> sessionRooms = new ConcurrentHashMap<>();
+
+    // 비어 있던 채팅방에 첫 참여자가 들어왔으면 true 를 돌려준다.
+    public boolean join(ChatRoomKey roomKey, WebSocketSession session) {
+        boolean[] opened = new boolean[1];
+        rooms.compute(roomKey, (key, members) -> {
+            if (members == null) {
+                members = ConcurrentHashMap.newKeySet();
+                opened[0] = true;
+            }
+            members.add(session);
+            return members;
+        });
+        sessionRooms.computeIfAbsent(session.getId(), id -> ConcurrentHashMap.newKeySet()).add(roomKey);
+        return opened[0];
+    }
+
+    // 마지막 참여자가 나가 채팅방이 비었으면 true 를 돌려준다.
+    public boolean leave(ChatRoomKey roomKey, WebSocketSession session) {
+        boolean emptied = removeMember(roomKey, session);
+        Set<ChatRoomKey> joined = sessionRooms.get(session.getId());
+        if (joined != null) joined.remove(roomKey);
+        return emptied;
+    }
+
+    // 연결이 끊긴 세션을 참여 중인 모든 채팅방에서 제거하고, 그 결과 비게 된 채팅방 목록을 돌려준다.
+    public Set<ChatRoomKey> leaveAll(WebSocketSession session) {
+        Set<ChatRoomKey> joined = sessionRooms.remove(session.getId());
+        if (joined == null) return Collections.emptySet();
+        Set<ChatRoomKey> emptied = new HashSet<>();
+        for (ChatRoomKey roomKey : joined) {
+            if (removeMember(roomKey, session)) emptied.add(roomKey);
+        }
+        return emptied;
+    }
+
+    public boolean isMember(ChatRoomKey roomKey, WebSocketSession session) {
+        Set<WebSocketSession> members = rooms.get(roomKey);
+        return members != null && members.contains(session);
+    }
+
+    public Set<WebSocketSession> getMembers(ChatRoomKey roomKey) {
+        Set<WebSocketSession> members = rooms.get(roomKey);
+        return members == null ? Collections.emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getSessionCount() {
+        return sessionRooms.size();
+    }
+
+    private boolean removeMember(ChatRoomKey roomKey, WebSocketSession session) {
+        boolean[] emptied = new boolean[1];
+        rooms.computeIfPresent(roomKey, (key, members) -> {
+            if (!members.remove(session) || !members.isEmpty()) return members;
+            emptied[0] = true;
+            return null;
+        });
+        return emptied[0];
+    }
+}
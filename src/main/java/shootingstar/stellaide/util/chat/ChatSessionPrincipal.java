@@ -0,0 +1,32 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 웹소켓 핸드셰이크에서 인증한 채팅 사용자. 세션 속성(ATTRIBUTE)에 보관되어 메시지마다 인증을 다시 하지 않는다.
+ * 참여할 수 있는 컨테이너, DM 채팅방 목록도 함께 보관하며, 접속 후 새로 생긴 채팅방은 목록을 다시 읽어 반영한다.
+ */
+@Getter
+public class ChatSessionPrincipal {
+    public static final String ATTRIBUTE = "chatPrincipal";
+
+    private final String userId;
+    private final String nickname;
+    private volatile Set<ChatRoomKey> authorizedRooms;
+
+    public ChatSessionPrincipal(String userId, String nickname, Set<ChatRoomKey> authorizedRooms) {
+        this.userId = userId;
+        this.nickname = nickname;
+        this.authorizedRooms = Set.copyOf(authorizedRooms);
+    }
+
+    public boolean isAuthorized(ChatRoomKey roomKey) {
+        return authorizedRooms.contains(roomKey);
+    }
+
+    public void replaceAuthorizedRooms(Set<ChatRoomKey> authorizedRooms) {
+        this.authorizedRooms = Set.copyOf(authorizedRooms);
+    }
+}
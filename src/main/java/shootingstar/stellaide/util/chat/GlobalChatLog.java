@@ -0,0 +1,109 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.service.dto.GlobalChatHistoryResDto;
+import shootingstar.stellaide.service.dto.GlobalChatMessageDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 전체 채팅 내역. 모든 서버가 공유하는 레디스 스트림 하나에 추가만 하며, 최근 max-length 건만 유지한다.
+ * 추가할 때 근사(~) MAXLEN 으로 잘라내므로 레디스가 내부 노드 단위로 한 번에 지워 쓰기량이 많아도 잘라내는 비용이 작다.
+ * 항목 ID 는 시간 순서로 증가하므로 채팅 내역의 커서로 그대로 사용한다.
+ */
+@Slf4j
+@Component
+public class GlobalChatLog {
+    private static final String STREAM_KEY = "chat:global:stream";
+    private static final String SENDER_FIELD = "sender";
+    private static final String MESSAGE_FIELD = "msg";
+    private static final Pattern RECORD_ID_PATTERN = Pattern.compile("\\d+-\\d+");
+
+    private final StringRedisTemplate chatRedisTemplate;
+    private final long maxLength;
+
+    public GlobalChatLog(@Qualifier("chatRedisTemplate") StringRedisTemplate chatRedisTemplate,
+                         @Value("${chat.global.max-length:10000}") long maxLength) {
+        this.chatRedisTemplate = chatRedisTemplate;
+        this.maxLength = maxLength;
+    }
+
+    public void append(String sender, String message) {
+        Map<byte[], byte[]> fields = new HashMap<>();
+        fields.put(SENDER_FIELD.getBytes(StandardCharsets.UTF_8), bytes(sender));
+        fields.put(MESSAGE_FIELD.getBytes(StandardCharsets.UTF_8), bytes(message));
+        ByteRecord record = StreamRecords.rawBytes(fields).withStreamKey(STREAM_KEY.getBytes(StandardCharsets.UTF_8));
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        try {
+            chatRedisTemplate.execute((RedisCallback<RecordId>) connection -> connection.streamCommands().xAdd(record, options));
+        } catch (Exception e) {
+            // 저장에 실패해도 메시지 전송은 계속한다.
+            log.info("전체 채팅 저장 실패 : {}", e.getMessage());
+        }
+    }
+
+    public static boolean isValidMessageId(String messageId) {
+        return RECORD_ID_PATTERN.matcher(messageId).matches();
+    }
+
+    /*
+      beforeMessageId 이전의 메시지 limit 건을 오래된 순서로 돌려준다. beforeMessageId 가 없으면 가장 최근 메시지부터 읽는다.
+      커서 항목도 범위에 포함되므로 한 건 더 읽어 걸러내고, 남은 한 건으로 이전 메시지 존재 여부를 판단한다.
+     */
+    public GlobalChatHistoryResDto read(String beforeMessageId, int limit) {
+        Range<String> range = beforeMessageId == null
+                ? Range.unbounded()
+                : Range.leftUnbounded(Range.Bound.inclusive(beforeMessageId));
+        List<MapRecord<String, Object, Object>> records = chatRedisTemplate.opsForStream()
+                .reverseRange(STREAM_KEY, range, Limit.limit().count(limit + 2));
+        if (records == null) records = List.of();
+
+        List<GlobalChatMessageDto> messages = new ArrayList<>();
+        boolean hasMore = false;
+        for (MapRecord<String, Object, Object> record : records) {
+            String messageId = record.getId().getValue();
+            if (messageId.equals(beforeMessageId)) continue;
+            if (messages.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            messages.add(toMessage(record));
+        }
+
+        Collections.reverse(messages);
+        String nextBeforeMessageId = messages.isEmpty() ? null : messages.get(0).getMessageId();
+        return new GlobalChatHistoryResDto(messages, nextBeforeMessageId, hasMore);
+    }
+
+    private static GlobalChatMessageDto toMessage(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        LocalDateTime createTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getId().getTimestamp()), ZoneId.systemDefault());
+        return new GlobalChatMessageDto(record.getId().getValue(), (String) fields.get(SENDER_FIELD),
+                (String) fields.get(MESSAGE_FIELD), createTime);
+    }
+
+    private static byte[] bytes(String value) {
+        return (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+
+/**
+ * 웹소켓 세션 하나의 전송 대기열.
+ * offer 는 대기열에 넣기만 하고 바로 돌아오며, 실제 전송은 executor 의 스레드 하나가 순서대로 처리한다.
+ * 한 번의 전송이 send-time-limit 를 넘기거나 대기열이 buffer-size-limit 를 넘으면 느린 클라이언트로 보고 정책에 따라 처리한다.
+ * buffer-size-limit 보다 큰 메시지 하나는 정책과 관계없이 대기열에 넣지 않고 버린다.
+ */
+@Slf4j
+public class OutboundSessionQueue {
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final ChatMessageSender.Counters counters;
+
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private long pendingBytes;
+    private boolean draining;
+    private boolean closed;
+    private long sendStartNanos; // 0 이면 전송 중이 아님
+
+    OutboundSessionQueue(WebSocketSession session, Executor executor, long sendTimeLimitMillis, int bufferSizeLimit,
+                         OverflowPolicy overflowPolicy, ChatMessageSender.Counters counters) {
+        this.session = session;
+        this.executor = executor;
+        this.sendTimeLimitNanos = sendTimeLimitMillis * 1_000_000;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowPolicy = overflowPolicy;
+        this.counters = counters;
+    }
+
+    public void offer(WebSocketMessage<?> message) {
+        int size = message.getPayloadLength();
+        synchronized (this) {
+            if (closed) return;
+            if (isSendTimeExceeded()) {
+                closeSlowConsumer("전송 시간 초과");
+                return;
+            }
+
+            // 대기열을 모두 비워도 들어갈 수 없는 메시지는 다른 메시지를 밀어내지 않고 이 메시지만 버린다.
+            if (size > bufferSizeLimit) {
+                log.info("전송 대기열보다 큰 채팅 메시지를 버립니다({} bytes) : {}", size, session.getId());
+                counters.dropped.increment();
+                return;
+            }
+
+            if (pendingBytes + size > bufferSizeLimit) {
+                if (overflowPolicy == OverflowPolicy.CLOSE) {
+                    closeSlowConsumer("전송 대기열 초과");
+                    return;
+                }
+                while (!queue.isEmpty() && pendingBytes + size > bufferSizeLimit) {
+                    pendingBytes -= queue.pollFirst().getPayloadLength();
+                    counters.dropped.increment();
+                }
+            }
+
+            queue.addLast(message);
+            pendingBytes += size;
+            if (draining) return;
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    // 대기열이 빌 때까지 전송한다. 실행 중인 drain 은 세션당 최대 하나이다.
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> message;
+            synchronized (this) {
+                message = queue.pollFirst();
+                if (message == null || closed) {
+                    draining = false;
+                    return;
+                }
+                pendingBytes -= message.getPayloadLength();
+                sendStartNanos = System.nanoTime();
+            }
+
+            try {
+                session.sendMessage(message);
+                counters.sent.increment();
+            } catch (Exception e) {
+                log.info("채팅 메시지 전송 실패 : {}", session.getId());
+                synchronized (this) {
+                    sendStartNanos = 0;
+                    closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+                    draining = false;
+                }
+                return;
+            }
+
+            synchronized (this) {
+                sendStartNanos = 0;
+            }
+        }
+    }
+
+    // 새 메시지가 없어도 멈춘 전송을 찾아낼 수 있도록 주기적으로 호출된다.
+    synchronized void checkSendTime() {
+        if (!closed && isSendTimeExceeded()) {
+            closeSlowConsumer("전송 시간 초과");
+        }
+    }
+
+    synchronized void discard() {
+        closed = true;
+        queue.clear();
+        pendingBytes = 0;
+    }
+
+    synchronized int getQueuedMessages() {
+        return queue.size();
+    }
+
+    synchronized long getQueuedBytes() {
+        return pendingBytes;
+    }
+
+    private boolean isSendTimeExceeded() {
+        return sendStartNanos != 0 && System.nanoTime() - sendStartNanos > sendTimeLimitNanos;
+    }
+
+    private void closeSlowConsumer(String reason) {
+        log.info("느린 클라이언트 연결 종료({}) : {}", reason, session.getId());
+        counters.dropped.add(queue.size());
+        counters.slowConsumerClosed.increment();
+        closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    // 전송이 막힌 세션은 close 도 막힐 수 있으므로, 호출한 스레드가 기다리지 않도록 종료는 executor 에 맡긴다.
+    private void closeQuietly(CloseStatus status) {
+        closed = true;
+        queue.clear();
+        pendingBytes = 0;
+        executor.execute(() -> {
+            try {
+                session.close(status);
+            } catch (Exception e) {
+                log.info("웹소켓 세션 종료 실패 : {}", session.getId());
+            }
+        });
+    }
+}
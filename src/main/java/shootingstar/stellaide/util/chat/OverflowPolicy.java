@@ -0,0 +1,7 @@
+package shootingstar.stellaide.util.chat;
+
+// 세션의 전송 대기열이 가득 찼을 때의 처리 방식
+public enum OverflowPolicy {
+    DROP_OLDEST, // 오래된 메시지부터 버리고 새 메시지를 넣는다.
+    CLOSE // 연결을 끊는다. 클라이언트는 재접속 후 내역을 다시 불러와야 한다.
+}
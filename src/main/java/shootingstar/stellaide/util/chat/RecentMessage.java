@@ -0,0 +1,53 @@
+package shootingstar.stellaide.util.chat;
+
+import lombok.Getter;
+import shootingstar.stellaide.entity.chat.MessageType;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 최근 메시지 버퍼와 지연 저장 대기열이 함께 참조하는 메시지. 고유번호는 DB 에 저장된 뒤에 채워진다.
+// 다른 서버에서 전달받은 메시지는 그 서버가 저장하므로 이 서버에서는 고유번호를 알 수 없다.
+@Getter
+public class RecentMessage {
+    private static final long OVERHEAD_BYTES = 64;
+
+    private final String sender;
+    private final String message;
+    private final MessageType messageType;
+    private final LocalDateTime createdTime;
+    private final boolean remote; // 다른 서버에서 전달받은 메시지
+    private volatile Long messageId; // 아직 저장되지 않았거나 저장하지 않는 메시지(전체 채팅), 다른 서버의 메시지는 null
+
+    public RecentMessage(Long messageId, String sender, String message, MessageType messageType, LocalDateTime createdTime) {
+        this(messageId, sender, message, messageType, createdTime, false);
+    }
+
+    private RecentMessage(Long messageId, String sender, String message, MessageType messageType, LocalDateTime createdTime, boolean remote) {
+        this.messageId = messageId;
+        this.sender = sender;
+        this.message = message;
+        this.messageType = messageType;
+        this.createdTime = createdTime;
+        this.remote = remote;
+    }
+
+    static RecentMessage fromRemote(String sender, String message, MessageType messageType, LocalDateTime createdTime) {
+        return new RecentMessage(null, sender, message, messageType, createdTime, true);
+    }
+
+    // 같은 메시지를 DB 에서 읽은 것인지. 다른 서버의 메시지는 고유번호가 없으므로 보낸 사람과 내용으로 비교한다.
+    boolean isSameContent(RecentMessage other) {
+        return Objects.equals(sender, other.sender) && Objects.equals(message, other.message);
+    }
+
+    void assignMessageId(Long messageId) {
+        this.messageId = messageId;
+    }
+
+    // 문자열은 UTF-16 으로 저장되므로 길이의 두 배에 객체 헤더 등을 더해 어림한다.
+    long weight() {
+        long chars = (sender == null ? 0 : sender.length()) + (message == null ? 0 : message.length());
+        return OVERHEAD_BYTES + chars * 2;
+    }
+}
@@ -0,0 +1,190 @@
+package shootingstar.stellaide.util.chat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.service.dto.ChatHistoryResDto;
+import shootingstar.stellaide.util.cache.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼.
+ * 메시지를 보낼 때 채팅방마다 최대 room-capacity 건을 유지하고, 채팅 내역의 첫 페이지는 DB 대신 이 버퍼에서 응답한다.
+ * 전체 버퍼의 크기는 max-bytes 로 제한되며, 넘으면 가장 오래 사용하지 않은 채팅방의 버퍼부터 제거한다.
+ *
+ * 버퍼가 첫 페이지를 응답하려면 요청한 건수만큼 메시지를 갖고 있거나 채팅방의 전체 내역을 갖고 있어야 하고,
+ * 이전 페이지가 남아 있다면 가장 오래된 메시지의 고유번호(커서)를 알아야 한다. 그렇지 않으면 DB 에서 읽어 채운다.
+ * 다른 서버에서 전달받은 메시지는 고유번호 없이 추가되므로, 가장 오래된 메시지가 되면 DB 에서 읽어 고유번호가 있는 메시지로 바꾼다.
+ * 전체 채팅은 레디스 스트림(GlobalChatLog)에 저장되므로 여기서 다루지 않는다.
+ */
+@Component
+public class RecentMessageBuffer {
+    private final int roomCapacity;
+    private final long maxBytes;
+
+    private final LinkedHashMap<ChatRoomKey, RoomMessages> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public RecentMessageBuffer(@Value("${chat.recent.room-capacity:100}") int roomCapacity,
+                               @Value("${chat.recent.max-bytes:33554432}") long maxBytes) {
+        this.roomCapacity = roomCapacity;
+        this.maxBytes = maxBytes;
+    }
+
+    public int getRoomCapacity() {
+        return roomCapacity;
+    }
+
+    public synchronized void append(ChatRoomKey roomKey, RecentMessage message) {
+        RoomMessages room = rooms.get(roomKey);
+        if (room == null) {
+            room = new RoomMessages(roomCapacity, false);
+            rooms.put(roomKey, room);
+        }
+        bytes -= room.bytes;
+        room.add(message);
+        bytes += room.bytes;
+        evictOverflow();
+    }
+
+    public synchronized void invalidate(ChatRoomKey roomKey) {
+        RoomMessages removed = rooms.remove(roomKey);
+        if (removed != null) bytes -= removed.bytes;
+    }
+
+    /*
+      최근 메시지 limit 건을 오래된 순서로 돌려준다. 버퍼만으로 응답할 수 없으면 null 을 돌려준다.
+     */
+    public synchronized ChatHistoryResDto<RecentMessage> getLatest(ChatRoomKey roomKey, int limit) {
+        RoomMessages room = rooms.get(roomKey);
+        if (room == null || (!room.complete && room.size < limit)) {
+            missCount++;
+            return null;
+        }
+
+        List<RecentMessage> messages = room.latest(limit);
+        boolean hasMore = !room.complete || room.size > limit;
+        Long nextBeforeMessageId = messages.isEmpty() || messages.get(0).getMessageId() == null ? null : minMessageId(messages);
+        if (hasMore && nextBeforeMessageId == null) {
+            // 가장 오래된 메시지가 아직 저장되지 않아 이전 페이지를 가리킬 커서가 없다.
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return new ChatHistoryResDto<>(messages, nextBeforeMessageId, hasMore);
+    }
+
+    /*
+      DB 에서 읽은 최근 메시지(오래된 순서, 최대 room-capacity 건)로 버퍼를 채운다.
+      DB 를 읽는 사이에 추가된 메시지는 버퍼에 남아 있으므로, 버퍼에 있는 가장 작은 고유번호보다 이전 내역만 앞에 붙인다.
+      저장은 대기열 순서대로 이루어지므로 그보다 앞선 메시지는 모두 저장되어 있다.
+      다른 서버의 메시지는 앞에 붙인 내역에 이미 들어 있을 수 있으므로, 순서대로 보낸 사람과 내용이 같은 메시지를 찾아 하나만 남긴다.
+     */
+    public synchronized void seed(ChatRoomKey roomKey, List<RecentMessage> persisted) {
+        RoomMessages current = rooms.remove(roomKey);
+        if (current != null) bytes -= current.bytes;
+
+        RoomMessages seeded = new RoomMessages(roomCapacity, persisted.size() < roomCapacity);
+        Long minKnownId = current == null ? null : minMessageId(current.latest(current.size));
+        for (RecentMessage message : persisted) {
+            if (minKnownId != null && message.getMessageId() >= minKnownId) break;
+            seeded.add(message);
+        }
+        if (current != null) {
+            // 현재 버퍼를 붙이는 동안 앞부분이 덮어써질 수 있으므로 앞에 붙인 내역을 따로 둔다.
+            List<RecentMessage> prepended = seeded.latest(seeded.size);
+            int matchFrom = 0;
+            for (int i = 0; i < current.size; i++) {
+                RecentMessage message = current.get(i);
+                if (message.isRemote()) {
+                    int matched = indexOfSameContent(prepended, matchFrom, message);
+                    if (matched >= 0) {
+                        matchFrom = matched + 1;
+                        continue;
+                    }
+                }
+                seeded.add(message);
+            }
+        }
+
+        rooms.put(roomKey, seeded);
+        bytes += seeded.bytes;
+        evictOverflow();
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(rooms.size(), bytes, maxBytes, hitCount, missCount, evictionCount);
+    }
+
+    private void evictOverflow() {
+        Iterator<RoomMessages> iterator = rooms.values().iterator();
+        while (iterator.hasNext() && bytes > maxBytes) {
+            bytes -= iterator.next().bytes;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static int indexOfSameContent(List<RecentMessage> messages, int from, RecentMessage message) {
+        for (int i = from; i < messages.size(); i++) {
+            if (messages.get(i).isSameContent(message)) return i;
+        }
+        return -1;
+    }
+
+    // 동시에 보낸 메시지는 버퍼 순서와 저장 순서가 다를 수 있으므로 가장 작은 고유번호를 기준으로 삼는다.
+    private static Long minMessageId(List<RecentMessage> messages) {
+        Long min = null;
+        for (RecentMessage message : messages) {
+            Long messageId = message.getMessageId();
+            if (messageId != null && (min == null || messageId < min)) min = messageId;
+        }
+        return min;
+    }
+
+    private static class RoomMessages {
+        private final RecentMessage[] ring;
+        private int head; // 가장 오래된 메시지의 위치
+        private int size;
+        private long bytes;
+        private boolean complete; // 채팅방의 전체 내역을 담고 있는지
+
+        private RoomMessages(int capacity, boolean complete) {
+            this.ring = new RecentMessage[capacity];
+            this.complete = complete;
+        }
+
+        private void add(RecentMessage message) {
+            if (size == ring.length) {
+                // 가장 오래된 메시지를 덮어쓰므로 더 이상 전체 내역이 아니다.
+                bytes -= ring[head].weight();
+                ring[head] = message;
+                head = (head + 1) % ring.length;
+                complete = false;
+            } else {
+                ring[(head + size) % ring.length] = message;
+                size++;
+            }
+            bytes += message.weight();
+        }
+
+        private RecentMessage get(int index) {
+            return ring[(head + index) % ring.length];
+        }
+
+        private List<RecentMessage> latest(int limit) {
+            int count = Math.min(limit, size);
+            List<RecentMessage> messages = new ArrayList<>(count);
+            for (int i = size - count; i < size; i++) {
+                messages.add(get(i));
+            }
+            return messages;
+        }
+    }
+}
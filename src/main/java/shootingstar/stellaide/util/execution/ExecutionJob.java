@@ -0,0 +1,147 @@
+package shootingstar.stellaide.util.execution;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import shootingstar.stellaide.exception.ErrorCode;
+import shootingstar.stellaide.util.ssh.SSHOutputListener;
+import shootingstar.stellaide.util.ssh.SSHOutputType;
+import shootingstar.stellaide.util.ssh.SSHRunningCommand;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 스케줄러에 제출된 실행 작업 하나.
+ * 구독자가 있으면 출력을 그대로 넘기고, 없으면 max-output-chars 까지 모아 두었다가 조회 시 돌려준다.
+ * 상태 변경은 ExecutionScheduler 가 담당한다.
+ */
+@Getter
+public class ExecutionJob {
+    private final String jobId = UUID.randomUUID().toString();
+    private final ExecutionJobType type;
+    private final String userUuid;
+    private final String containerId;
+    private final long sequence;
+    private final long timeoutMillis;
+    private final int maxOutputChars;
+    private final LocalDateTime submittedTime = LocalDateTime.now();
+    private final long submittedNanos = System.nanoTime();
+
+    private volatile ExecutionJobStatus status = ExecutionJobStatus.QUEUED;
+    private volatile LocalDateTime startedTime;
+    private volatile LocalDateTime finishedTime;
+    private volatile long startedNanos;
+    private volatile Integer exitStatus;
+    private volatile ErrorCode errorCode;
+    private volatile boolean truncated = false;
+
+    private final CompletableFuture<ExecutionJob> completion = new CompletableFuture<>();
+
+    @Getter(AccessLevel.NONE)
+    private final StringBuilder stdout = new StringBuilder();
+    @Getter(AccessLevel.NONE)
+    private final StringBuilder stderr = new StringBuilder();
+    @Getter(AccessLevel.NONE)
+    private final SSHOutputListener subscriber;
+    @Getter(AccessLevel.NONE)
+    private final Function<SSHOutputListener, SSHRunningCommand> launcher;
+    @Getter(AccessLevel.NONE)
+    private SSHRunningCommand command;
+    @Getter(AccessLevel.NONE)
+    private boolean cancelRequested = false;
+    @Getter(AccessLevel.NONE)
+    private boolean timedOut = false;
+
+    ExecutionJob(ExecutionJobType type, String userUuid, String containerId, long sequence, long timeoutMillis, int maxOutputChars,
+                 SSHOutputListener subscriber, Function<SSHOutputListener, SSHRunningCommand> launcher) {
+        this.type = type;
+        this.userUuid = userUuid;
+        this.containerId = containerId;
+        this.sequence = sequence;
+        this.timeoutMillis = timeoutMillis;
+        this.maxOutputChars = maxOutputChars;
+        this.subscriber = subscriber;
+        this.launcher = launcher;
+    }
+
+    public synchronized String getOutput() {
+        return stdout.toString();
+    }
+
+    public synchronized String getError() {
+        return stderr.toString();
+    }
+
+    // 기존 실행 API 와 같이 성공하면 표준 출력을, 실패하면 표준 에러를 돌려준다.
+    // 출력 제한으로 중단된 경우에는 잘린 표준 출력을 돌려준다.
+    public String getResult() {
+        return status == ExecutionJobStatus.SUCCEEDED || truncated ? getOutput() : getError();
+    }
+
+    SSHRunningCommand launch() {
+        SSHRunningCommand running = launcher.apply(this::onOutput);
+        synchronized (this) {
+            command = running;
+            if (cancelRequested || truncated) running.cancel();
+        }
+        return running;
+    }
+
+    void markStarted() {
+        startedTime = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        status = ExecutionJobStatus.RUNNING;
+    }
+
+    // 원격 프로세스를 중단한다. 실제 종료 상태는 프로세스가 끝난 뒤 finish 에서 정해진다.
+    synchronized void stop(boolean timeout) {
+        if (timeout) timedOut = true;
+        cancelRequested = true;
+        if (command != null) command.cancel();
+    }
+
+    void fail(ErrorCode errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    // 종료 상태를 정한다. 완료 콜백은 스케줄러 락 밖에서 complete() 로 호출한다.
+    synchronized void finish(ExecutionJobStatus queuedResult, Integer exitStatus) {
+        this.exitStatus = exitStatus;
+        this.finishedTime = LocalDateTime.now();
+        if (queuedResult != null) {
+            this.status = queuedResult;
+        } else if (timedOut) {
+            this.status = ExecutionJobStatus.TIMED_OUT;
+        } else if (cancelRequested) {
+            this.status = ExecutionJobStatus.CANCELLED;
+        } else if (errorCode == null && exitStatus != null && exitStatus == 0) {
+            this.status = ExecutionJobStatus.SUCCEEDED;
+        } else {
+            this.status = ExecutionJobStatus.FAILED;
+        }
+    }
+
+    void complete() {
+        completion.complete(this);
+    }
+
+    private void onOutput(SSHOutputType type, String chunk) {
+        if (subscriber != null) {
+            subscriber.onOutput(type, chunk);
+            return;
+        }
+        synchronized (this) {
+            int remaining = maxOutputChars - stdout.length() - stderr.length();
+            if (truncated) return;
+            if (chunk.length() > remaining) {
+                chunk = chunk.substring(0, Math.max(remaining, 0));
+                truncated = true;
+                // 더 이상 모을 수 없으므로 프로그램을 중단한다.
+                if (command != null) command.cancel();
+            }
+            (type == SSHOutputType.STDOUT ? stdout : stderr).append(chunk);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package shootingstar.stellaide.util.execution;
+
+public enum ExecutionJobStatus {
+    QUEUED, RUNNING, SUCCEEDED, FAILED, TIMED_OUT, CANCELLED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
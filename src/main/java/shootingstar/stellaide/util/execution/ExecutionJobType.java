@@ -0,0 +1,20 @@
+package shootingstar.stellaide.util.execution;
+
+import lombok.Getter;
+
+/**
+ * 실행 작업의 종류. 우선순위가 높을수록 대기열에서 먼저 꺼내진다.
+ * 웹소켓 실행은 사용자가 출력을 실시간으로 지켜보고 있으므로 결과를 나중에 받는 파일 실행보다 먼저 꺼낸다.
+ */
+@Getter
+public enum ExecutionJobType {
+    STREAM(3), // 웹소켓으로 출력을 지켜보는 실행
+    FILE(2),   // 결과를 기다리거나 조회하는 실행
+    SPRING(1); // 스프링 컨테이너 기동
+
+    private final int priority;
+
+    ExecutionJobType(int priority) {
+        this.priority = priority;
+    }
+}
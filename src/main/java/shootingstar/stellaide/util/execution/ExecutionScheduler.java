@@ -0,0 +1,294 @@
+package shootingstar.stellaide.util.execution;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.util.NamedThreadFactory;
+import shootingstar.stellaide.util.metrics.LatencyHistogram;
+import shootingstar.stellaide.util.ssh.SSHOutputListener;
+import shootingstar.stellaide.util.ssh.SSHRunningCommand;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static shootingstar.stellaide.exception.ErrorCode.*;
+
+/**
+ * 저장소 서버에서 실행되는 컴파일, 프로그램 실행, 스프링 기동 작업의 스케줄러.
+ * - 전체 동시 실행 수(global-limit)와 사용자별 동시 실행 수(per-user-limit)를 제한한다.
+ * - 대기열은 컨테이너별로 나뉘며, 우선순위가 같다면 컨테이너를 돌아가며 하나씩 꺼내 특정 컨테이너가 독점하지 못하게 한다.
+ * - 실행 시간이 제한을 넘으면 원격 프로세스를 중단하고, 대기 시간이 max-queue-wait 을 넘은 작업은 실행하지 않고 만료시킨다.
+ */
+@Slf4j
+@Component
+public class ExecutionScheduler {
+
+    @Value("${execution.scheduler.global-limit:4}")
+    private int globalLimit;
+
+    @Value("${execution.scheduler.per-user-limit:1}")
+    private int perUserLimit;
+
+    @Value("${execution.scheduler.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${execution.scheduler.per-user-queue-limit:3}")
+    private int perUserQueueLimit;
+
+    @Value("${execution.scheduler.max-queue-wait:120000}")
+    private long maxQueueWait;
+
+    @Value("${execution.scheduler.timeout:60000}")
+    private long timeout;
+
+    @Value("${execution.scheduler.spring-timeout:120000}")
+    private long springTimeout;
+
+    @Value("${execution.scheduler.max-output-chars:1000000}")
+    private int maxOutputChars;
+
+    @Value("${execution.scheduler.job-retention:600000}")
+    private long jobRetention;
+
+    private static final Comparator<ExecutionJob> JOB_ORDER = Comparator
+            .comparingInt((ExecutionJob job) -> -job.getType().getPriority())
+            .thenComparingLong(ExecutionJob::getSequence);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, TreeSet<ExecutionJob>> queues = new HashMap<>(); // 컨테이너별 대기열
+    private final ArrayDeque<String> rotation = new ArrayDeque<>(); // 대기 중인 작업이 있는 컨테이너의 순번
+    private final Map<String, Integer> queuedByUser = new HashMap<>();
+    private final Map<String, Integer> runningByUser = new HashMap<>();
+    private int queuedJobs = 0;
+    private int runningJobs = 0;
+
+    private final Map<String, ExecutionJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService launchExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("execution-launch-"));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("execution-timer-"));
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final LongAdder submittedJobs = new LongAdder();
+    private final LongAdder rejectedJobs = new LongAdder();
+    private final LongAdder timedOutJobs = new LongAdder();
+    private final LongAdder cancelledJobs = new LongAdder();
+
+    @PreDestroy
+    private void shutdown() {
+        jobs.values().forEach(job -> job.stop(false));
+        timer.shutdownNow();
+        launchExecutor.shutdown();
+    }
+
+    /**
+     * 작업을 대기열에 넣는다. 실행 슬롯이 비어 있으면 바로 시작된다.
+     * launcher 는 실행 슬롯을 얻은 뒤 별도 스레드에서 호출되며, 주어진 리스너로 출력을 전달하는 명령을 시작해야 한다.
+     */
+    public ExecutionJob submit(ExecutionJobType type, String userUuid, String containerId,
+                               SSHOutputListener subscriber, Function<SSHOutputListener, SSHRunningCommand> launcher) {
+        long jobTimeout = type == ExecutionJobType.SPRING ? springTimeout : timeout;
+        ExecutionJob job = new ExecutionJob(type, userUuid, containerId, sequence.incrementAndGet(), jobTimeout, maxOutputChars, subscriber, launcher);
+
+        lock.lock();
+        try {
+            if (queuedJobs >= queueCapacity || queuedByUser.getOrDefault(userUuid, 0) >= perUserQueueLimit) {
+                rejectedJobs.increment();
+                throw new CustomException(FULL_EXECUTION_QUEUE);
+            }
+            jobs.put(job.getJobId(), job);
+            TreeSet<ExecutionJob> queue = queues.computeIfAbsent(containerId, key -> {
+                rotation.addLast(key);
+                return new TreeSet<>(JOB_ORDER);
+            });
+            queue.add(job);
+            queuedJobs++;
+            queuedByUser.merge(userUuid, 1, Integer::sum);
+            submittedJobs.increment();
+
+            timer.schedule(() -> expire(job), maxQueueWait, TimeUnit.MILLISECONDS);
+            dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+        return job;
+    }
+
+    public ExecutionJob findJob(String jobId) {
+        ExecutionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new CustomException(NOT_FOUND_EXECUTION_JOB);
+        }
+        return job;
+    }
+
+    public void cancel(ExecutionJob job) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = removeQueuedLocked(job);
+        } finally {
+            lock.unlock();
+        }
+
+        if (removed) {
+            cancelledJobs.increment();
+            job.finish(ExecutionJobStatus.CANCELLED, null);
+            job.complete();
+        } else if (job.getStatus() == ExecutionJobStatus.RUNNING) {
+            cancelledJobs.increment();
+            job.stop(false);
+        }
+    }
+
+    public ExecutionSchedulerMetrics getMetrics() {
+        lock.lock();
+        try {
+            return new ExecutionSchedulerMetrics(
+                    queuedJobs,
+                    queues.size(),
+                    runningJobs,
+                    globalLimit,
+                    perUserLimit,
+                    submittedJobs.sum(),
+                    rejectedJobs.sum(),
+                    timedOutJobs.sum(),
+                    cancelledJobs.sum(),
+                    queueWait.snapshot(),
+                    runTime.snapshot());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 끝난 작업은 job-retention 동안만 조회할 수 있다.
+    @Scheduled(fixedDelayString = "${execution.scheduler.cleanup-interval:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(jobRetention));
+        jobs.values().removeIf(job -> job.getStatus().isFinished()
+                && job.getFinishedTime() != null
+                && job.getFinishedTime().isBefore(threshold));
+    }
+
+    /*
+      실행 가능한 작업을 슬롯이 허용하는 만큼 시작한다.
+      컨테이너 순번대로 각 대기열에서 사용자 제한에 걸리지 않는 첫 작업을 후보로 삼고,
+      가장 우선순위가 높은 후보 중 순번이 가장 앞선 컨테이너의 작업을 고른다.
+      작업을 꺼낸 컨테이너는 순번의 맨 뒤로 보낸다.
+     */
+    private void dispatchLocked() {
+        while (runningJobs < globalLimit) {
+            ExecutionJob next = null;
+            for (String containerId : rotation) {
+                for (ExecutionJob candidate : queues.get(containerId)) {
+                    if (runningByUser.getOrDefault(candidate.getUserUuid(), 0) < perUserLimit) {
+                        if (next == null || candidate.getType().getPriority() > next.getType().getPriority()) {
+                            next = candidate;
+                        }
+                        break;
+                    }
+                }
+            }
+            if (next == null) return;
+
+            removeQueuedLocked(next);
+            if (queues.containsKey(next.getContainerId())) {
+                rotation.remove(next.getContainerId());
+                rotation.addLast(next.getContainerId());
+            }
+            startLocked(next);
+        }
+    }
+
+    private void startLocked(ExecutionJob job) {
+        runningJobs++;
+        runningByUser.merge(job.getUserUuid(), 1, Integer::sum);
+        job.markStarted();
+        queueWait.record(job.getStartedNanos() - job.getSubmittedNanos(), TimeUnit.NANOSECONDS);
+        launchExecutor.execute(() -> launch(job));
+    }
+
+    private void launch(ExecutionJob job) {
+        try {
+            SSHRunningCommand command = job.launch();
+            ScheduledFuture<?> timeoutTask = timer.schedule(() -> {
+                log.info("실행 시간 초과, 작업을 중단합니다 : {}", job.getJobId());
+                timedOutJobs.increment();
+                job.stop(true);
+            }, job.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            command.getCompletion().whenComplete((exitStatus, throwable) -> {
+                timeoutTask.cancel(false);
+                finish(job, exitStatus);
+            });
+        } catch (CustomException e) {
+            job.fail(e.getErrorCode());
+            finish(job, null);
+        } catch (Exception e) {
+            log.info("실행 작업 시작 실패 : {}", e.getMessage());
+            job.fail(SERVER_ERROR);
+            finish(job, null);
+        }
+    }
+
+    private void finish(ExecutionJob job, Integer exitStatus) {
+        job.finish(null, exitStatus);
+        runTime.recordSince(job.getStartedNanos());
+
+        lock.lock();
+        try {
+            runningJobs--;
+            runningByUser.computeIfPresent(job.getUserUuid(), (key, count) -> count == 1 ? null : count - 1);
+            dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+        job.complete();
+    }
+
+    private void expire(ExecutionJob job) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = removeQueuedLocked(job);
+        } finally {
+            lock.unlock();
+        }
+
+        if (removed) {
+            log.info("실행 대기 시간 초과 : {}", job.getJobId());
+            timedOutJobs.increment();
+            job.finish(ExecutionJobStatus.TIMED_OUT, null);
+            job.complete();
+        }
+    }
+
+    private boolean removeQueuedLocked(ExecutionJob job) {
+        TreeSet<ExecutionJob> queue = queues.get(job.getContainerId());
+        if (queue == null || !queue.remove(job)) return false;
+
+        if (queue.isEmpty()) {
+            queues.remove(job.getContainerId());
+            rotation.remove(job.getContainerId());
+        }
+        queuedJobs--;
+        queuedByUser.computeIfPresent(job.getUserUuid(), (key, count) -> count == 1 ? null : count - 1);
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package shootingstar.stellaide.util.execution;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import shootingstar.stellaide.util.metrics.LatencySnapshot;
+
+@Data
+@AllArgsConstructor
+public class ExecutionSchedulerMetrics {
+    private int queuedJobs;
+    private int queuedContainers;
+    private int runningJobs;
+    private int globalLimit;
+    private int perUserLimit;
+    private long submittedJobs;
+    private long rejectedJobs;
+    private long timedOutJobs;
+    private long cancelledJobs;
+    private LatencySnapshot queueWait;
+    private LatencySnapshot runTime;
+}
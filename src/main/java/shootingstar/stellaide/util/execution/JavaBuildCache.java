@@ -0,0 +1,127 @@
+package shootingstar.stellaide.util.execution;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JAVA 컨테이너의 증분 빌드 상태.
+ * 파일 저장, 생성 시 src 아래 .java 소스의 내용 해시를 기록해 실제로 바뀐 소스만 변경분으로 남기고,
+ * 이동, 이름 변경, 삭제, 복사처럼 클래스 구성이 바뀌는 작업은 .bin 에 남은 클래스 파일을 믿을 수 없으므로 전체 빌드로 표시한다.
+ * 서버가 재시작되면 상태가 없으므로 첫 실행은 항상 전체 빌드이다.
+ */
+@Component
+public class JavaBuildCache {
+    private static final String SOURCE_ROOT = "/src/";
+
+    private final Map<String, BuildState> states = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public void recordSave(String containerName, String path, String content) {
+        recordSave(containerName, path, sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // 스트리밍 저장처럼 내용 전체를 갖고 있지 않을 때는 전송하면서 계산한 SHA-256 다이제스트로 기록한다.
+    public void recordSave(String containerName, String path, byte[] contentDigest) {
+        String sourcePath = normalize(path);
+        if (sourcePath == null) return;
+
+        String hash = toHex(contentDigest);
+        BuildState state = state(containerName);
+        synchronized (state) {
+            // 내용이 같은 저장은 변경으로 보지 않는다.
+            if (hash.equals(state.hashes.get(sourcePath))) return;
+            state.hashes.put(sourcePath, hash);
+            state.dirty.put(sourcePath, version.incrementAndGet());
+        }
+    }
+
+    public void recordCreate(String containerName, String path) {
+        recordSave(containerName, path, "");
+    }
+
+    public void recordStructureChange(String containerName) {
+        BuildState state = state(containerName);
+        synchronized (state) {
+            state.fullRebuild = true;
+            state.structureVersion = version.incrementAndGet();
+            state.hashes.clear();
+        }
+    }
+
+    public void evict(String containerName) {
+        states.remove(containerName);
+    }
+
+    public JavaBuildPlan plan(String containerName) {
+        BuildState state = state(containerName);
+        synchronized (state) {
+            JavaBuildPlan.Mode mode;
+            if (state.fullRebuild) {
+                mode = JavaBuildPlan.Mode.FULL;
+            } else if (!state.dirty.isEmpty()) {
+                mode = JavaBuildPlan.Mode.INCREMENTAL;
+            } else {
+                mode = JavaBuildPlan.Mode.NONE;
+            }
+            return new JavaBuildPlan(containerName, mode, new HashMap<>(state.dirty), state.structureVersion);
+        }
+    }
+
+    /*
+      빌드가 성공했다면 계획에 포함된 변경분을 정리한다.
+      빌드하는 동안 다시 저장된 소스나 새로 생긴 구조 변경은 버전이 달라지므로 그대로 남는다.
+     */
+    public void complete(JavaBuildPlan plan, boolean compiled) {
+        if (!compiled || plan.getMode() == JavaBuildPlan.Mode.NONE) return;
+
+        BuildState state = states.get(plan.getContainerName());
+        if (state == null) return;
+        synchronized (state) {
+            plan.getFiles().forEach((path, fileVersion) -> state.dirty.remove(path, fileVersion));
+            if (plan.getMode() == JavaBuildPlan.Mode.FULL && state.structureVersion == plan.getStructureVersion()) {
+                state.fullRebuild = false;
+            }
+        }
+    }
+
+    private BuildState state(String containerName) {
+        return states.computeIfAbsent(containerName, key -> new BuildState());
+    }
+
+    // 컴파일 대상(src 아래 .java)이면 컨테이너 기준 경로를, 아니면 null 을 반환한다.
+    private static String normalize(String path) {
+        String normalized = ("/" + path).replaceAll("/{2,}", "/");
+        if (!normalized.startsWith(SOURCE_ROOT) || !normalized.endsWith(".java")) return null;
+        return normalized;
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static class BuildState {
+        private boolean fullRebuild = true;
+        private long structureVersion = 0;
+        private final Map<String, Long> dirty = new HashMap<>();
+        private final Map<String, String> hashes = new HashMap<>();
+    }
+}
@@ -0,0 +1,30 @@
+package shootingstar.stellaide.util.execution;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 한 번의 실행에서 수행할 자바 빌드 계획.
+ * 빌드가 끝나면 JavaBuildCache.complete 로 결과를 알려야 계획에 포함된 변경분이 정리된다.
+ */
+@Getter
+public class JavaBuildPlan {
+    public enum Mode {
+        FULL,        // .bin 을 지우고 전체 소스를 컴파일
+        INCREMENTAL, // 변경된 소스와 이를 참조하는 소스만 컴파일
+        NONE         // .bin 이 최신 상태이므로 컴파일 생략
+    }
+
+    private final String containerName;
+    private final Mode mode;
+    private final Map<String, Long> files; // 컨테이너 기준 경로 -> 변경 버전
+    private final long structureVersion;
+
+    JavaBuildPlan(String containerName, Mode mode, Map<String, Long> files, long structureVersion) {
+        this.containerName = containerName;
+        this.mode = mode;
+        this.files = files;
+        this.structureVersion = structureVersion;
+    }
+}
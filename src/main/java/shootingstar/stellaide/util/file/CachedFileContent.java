@@ -0,0 +1,20 @@
+package shootingstar.stellaide.util.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import shootingstar.stellaide.util.ssh.RemoteFileStat;
+
+// 마지막으로 저장(확인)된 파일 내용과 그 SHA-256 해시, 그때의 원격 파일 크기와 수정 시각
+@Getter
+@AllArgsConstructor
+public class CachedFileContent {
+    private final String content;
+    private final String hash;
+    private final long size;
+    private final long lastModifiedMillis;
+
+    // 다른 서버나 컨테이너 안에서 파일이 바뀌었다면 크기나 수정 시각이 달라진다.
+    public boolean isSameVersion(RemoteFileStat stat) {
+        return size == stat.getSize() && lastModifiedMillis == stat.getLastModifiedMillis();
+    }
+}
@@ -0,0 +1,249 @@
+package shootingstar.stellaide.util.file;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.service.dto.ContainerTreeResDto;
+import shootingstar.stellaide.util.NamedThreadFactory;
+import shootingstar.stellaide.util.cache.BoundedCache;
+import shootingstar.stellaide.util.cache.CacheStats;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 컨테이너 파일 트리 캐시.
+ * 우리 API 로 일어난 변경(생성, 이동, 이름 변경, 삭제)은 캐시된 트리에 바로 반영하고,
+ * 실행 중인 프로그램이 만든 파일처럼 API 밖의 변경은 refresh-after 가 지난 트리를 응답한 뒤 백그라운드에서 다시 불러와 따라잡는다.
+ * 캐시된 트리는 응답 직렬화 중에도 읽히므로 제자리에서 고치지 않고, 바뀌는 경로의 노드만 복사한 새 트리로 교체한다.
+ */
+@Slf4j
+@Component
+public class ContainerTreeCache {
+    /*
+      트리 목록의 이름 순서. tree 명령의 정렬은 원격 서버의 로케일을 따르므로, 불러온 트리도 이 순서로 다시 정렬해
+      불러온 목록과 API 로 추가한 노드가 같은 순서를 따르게 한다. Collator 의 compare 는 동기화되어 있어 공유할 수 있다.
+     */
+    private static final Collator NAME_COLLATOR = Collator.getInstance(Locale.ROOT);
+    private static final Comparator<ContainerTreeResDto> NAME_ORDER =
+            Comparator.comparing(ContainerTreeResDto::getName, (a, b) -> NAME_COLLATOR.compare(a, b))
+                    .thenComparing(ContainerTreeResDto::getName);
+
+    private final BoundedCache<String, TreeSnapshot> cache;
+    private final long refreshAfterMillis;
+
+    // 컨테이너별 변경 횟수. 트리를 불러오는 도중 변경이 있었다면 불러온 트리는 이미 낡았으므로 캐시하지 않는다.
+    private final Map<String, Long> modifications = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, new NamedThreadFactory("tree-refresh-"));
+
+    public ContainerTreeCache(@Value("${storage.tree-cache.max-nodes:200000}") long maxNodes,
+                              @Value("${storage.tree-cache.refresh-after:30000}") long refreshAfterMillis,
+                              @Value("${storage.tree-cache.expire-after:600000}") long expireAfterMillis) {
+        this.cache = new BoundedCache<>(maxNodes, expireAfterMillis, TreeSnapshot::getNodeCount);
+        this.refreshAfterMillis = refreshAfterMillis;
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public ContainerTreeResDto get(String containerName, Function<String, ContainerTreeResDto> loader) {
+        TreeSnapshot snapshot = cache.get(containerName);
+        if (snapshot == null) {
+            return load(containerName, loader);
+        }
+
+        if (System.currentTimeMillis() - snapshot.getLoadedAt() > refreshAfterMillis && refreshing.add(containerName)) {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(containerName, loader);
+                } catch (Exception e) {
+                    log.info("컨테이너 트리 갱신 실패 : {}", containerName);
+                } finally {
+                    refreshing.remove(containerName);
+                }
+            });
+        }
+        return snapshot.getRoot();
+    }
+
+    public void addNode(String containerName, String parentPath, String name, boolean directory) {
+        ContainerTreeResDto node = new ContainerTreeResDto(name, directory ? "directory" : "file");
+        update(containerName, root -> editDirectory(root, segments(parentPath), 0, dir -> insert(dir, node)));
+    }
+
+    public void removeNode(String containerName, String parentPath, String name) {
+        update(containerName, root -> editDirectory(root, segments(parentPath), 0, dir -> remove(dir, name) != null ? dir : null));
+    }
+
+    public void renameNode(String containerName, String parentPath, String name, String changeName) {
+        update(containerName, root -> editDirectory(root, segments(parentPath), 0, dir -> {
+            ContainerTreeResDto removed = remove(dir, name);
+            return removed == null ? null : insert(dir, removed.copy(changeName));
+        }));
+    }
+
+    public void moveNode(String containerName, String currentParentPath, String movedParentPath, String name) {
+        update(containerName, root -> {
+            ContainerTreeResDto[] moved = new ContainerTreeResDto[1];
+            ContainerTreeResDto removedRoot = editDirectory(root, segments(currentParentPath), 0, dir -> {
+                moved[0] = remove(dir, name);
+                return moved[0] == null ? null : dir;
+            });
+            if (removedRoot == null) return null;
+            return editDirectory(removedRoot, segments(movedParentPath), 0, dir -> insert(dir, moved[0]));
+        });
+    }
+
+    // 결과를 알 수 없는 변경(복사 등) 후에는 다음 조회에서 새로 불러오도록 비운다.
+    public void invalidate(String containerName) {
+        synchronized (this) {
+            modifications.merge(containerName, 1L, Long::sum);
+            cache.invalidate(containerName);
+        }
+    }
+
+    public void evict(String containerName) {
+        synchronized (this) {
+            modifications.remove(containerName);
+            cache.invalidate(containerName);
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private ContainerTreeResDto load(String containerName, Function<String, ContainerTreeResDto> loader) {
+        long modification = modifications.getOrDefault(containerName, 0L);
+        ContainerTreeResDto root = loader.apply(containerName);
+        sortByName(root);
+        synchronized (this) {
+            if (modifications.getOrDefault(containerName, 0L) == modification) {
+                cache.put(containerName, new TreeSnapshot(root, countNodes(root), System.currentTimeMillis()));
+            }
+        }
+        return root;
+    }
+
+    // edit 가 null 을 돌려주면 캐시된 트리가 실제와 어긋난 것으로 보고 캐시를 비운다.
+    private synchronized void update(String containerName, UnaryOperator<ContainerTreeResDto> edit) {
+        modifications.merge(containerName, 1L, Long::sum);
+        TreeSnapshot snapshot = cache.peek(containerName);
+        if (snapshot == null) return;
+
+        ContainerTreeResDto root = edit.apply(snapshot.getRoot());
+        if (root == null) {
+            cache.invalidate(containerName);
+            return;
+        }
+        cache.put(containerName, new TreeSnapshot(root, countNodes(root), snapshot.getLoadedAt()));
+    }
+
+    // path 를 따라 내려가며 지나는 디렉토리만 복사하고, 마지막 디렉토리의 복사본에 edit 를 적용한다.
+    private static ContainerTreeResDto editDirectory(ContainerTreeResDto node, List<String> path, int depth, UnaryOperator<ContainerTreeResDto> edit) {
+        if (depth == path.size()) {
+            return edit.apply(node.copy(node.getName()));
+        }
+
+        int index = indexOf(node, path.get(depth));
+        if (index < 0 || !node.getChildren().get(index).isDirectory()) return null;
+
+        ContainerTreeResDto child = editDirectory(node.getChildren().get(index), path, depth + 1, edit);
+        if (child == null) return null;
+
+        ContainerTreeResDto copy = node.copy(node.getName());
+        copy.getChildren().set(index, child);
+        return copy;
+    }
+
+    // 불러온 트리를 정렬한 것과 같은 이름 순서를 유지한다.
+    private static ContainerTreeResDto insert(ContainerTreeResDto directory, ContainerTreeResDto node) {
+        if (indexOf(directory, node.getName()) >= 0) return null;
+
+        List<ContainerTreeResDto> children = directory.getChildren();
+        int index = 0;
+        while (index < children.size() && NAME_ORDER.compare(children.get(index), node) < 0) {
+            index++;
+        }
+        children.add(index, node);
+        return directory;
+    }
+
+    // 불러온 트리는 아직 캐시에 올라가기 전이므로 제자리에서 정렬한다.
+    private static void sortByName(ContainerTreeResDto node) {
+        if (node.getChildren() == null) return;
+        node.getChildren().sort(NAME_ORDER);
+        for (ContainerTreeResDto child : node.getChildren()) {
+            sortByName(child);
+        }
+    }
+
+    private static ContainerTreeResDto remove(ContainerTreeResDto directory, String name) {
+        int index = indexOf(directory, name);
+        return index < 0 ? null : directory.getChildren().remove(index);
+    }
+
+    private static int indexOf(ContainerTreeResDto directory, String name) {
+        List<ContainerTreeResDto> children = directory.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i).getName().equals(name)) return i;
+        }
+        return -1;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty() && !segment.equals(".")) segments.add(segment);
+        }
+        return segments;
+    }
+
+    private static long countNodes(ContainerTreeResDto node) {
+        long count = 1;
+        if (node.getChildren() != null) {
+            for (ContainerTreeResDto child : node.getChildren()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    private static class TreeSnapshot {
+        private final ContainerTreeResDto root;
+        private final long nodeCount;
+        private final long loadedAt;
+
+        private TreeSnapshot(ContainerTreeResDto root, long nodeCount, long loadedAt) {
+            this.root = root;
+            this.nodeCount = nodeCount;
+            this.loadedAt = loadedAt;
+        }
+
+        private ContainerTreeResDto getRoot() {
+            return root;
+        }
+
+        private long getNodeCount() {
+            return nodeCount;
+        }
+
+        private long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package shootingstar.stellaide.util.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.util.cache.BoundedCache;
+import shootingstar.stellaide.util.cache.CacheStats;
+import shootingstar.stellaide.util.execution.JavaBuildCache;
+import shootingstar.stellaide.util.ssh.RemoteFileStat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * 에디터가 저장한 파일의 최신 내용을 보관한다.
+ * 변경분(delta) 저장은 여기 보관된 내용을 기준 버전으로 삼아 편집을 적용하므로,
+ * 같은 파일에 대한 기준 확인, 적용, 원격 저장은 lock(...) 으로 얻은 모니터 안에서 한 번에 이루어져야 한다.
+ * 캐시는 서버마다 따로 있으므로 보관된 내용은 원격 파일의 크기, 수정 시각과 함께 저장하고,
+ * 기준으로 쓰기 전에 원격 파일과 비교해 다른 곳에서 바뀐 내용이 기준이 되지 않게 한다.
+ */
+@Component
+public class FileContentCache {
+    private static final int LOCK_STRIPES = 64;
+
+    private final BoundedCache<String, CachedFileContent> cache;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final long maxFileBytes;
+
+    public FileContentCache(@Value("${storage.file-cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${storage.file-cache.max-file-bytes:4194304}") long maxFileBytes,
+                            @Value("${storage.file-cache.ttl:1800000}") long ttlMillis) {
+        this.maxFileBytes = maxFileBytes;
+        // String 은 문자당 최대 2바이트를 차지하므로 길이의 2배를 무게로 본다.
+        this.cache = new BoundedCache<>(maxBytes, ttlMillis, file -> file.getContent().length() * 2L);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public Object lock(String containerName, String path) {
+        return locks[Math.floorMod(key(containerName, path).hashCode(), LOCK_STRIPES)];
+    }
+
+    // 원격 파일과 같은 버전일 때만 돌려준다. 다른 버전이 보관되어 있었다면 비운다.
+    public CachedFileContent get(String containerName, String path, RemoteFileStat stat) {
+        CachedFileContent file = cache.get(key(containerName, path));
+        if (file == null || file.isSameVersion(stat)) {
+            return file;
+        }
+        cache.invalidate(key(containerName, path));
+        return null;
+    }
+
+    public CachedFileContent put(String containerName, String path, String content, RemoteFileStat stat) {
+        CachedFileContent file = new CachedFileContent(content, hash(content), stat.getSize(), stat.getLastModifiedMillis());
+        cache.put(key(containerName, path), file);
+        return file;
+    }
+
+    public void invalidate(String containerName, String path) {
+        cache.invalidate(key(containerName, path));
+    }
+
+    // 이동, 이름 변경, 삭제처럼 여러 파일의 경로가 바뀔 수 있는 작업 후에는 컨테이너 단위로 비운다.
+    public void invalidateContainer(String containerName) {
+        String prefix = containerName + ":";
+        cache.invalidateIf(key -> key.startsWith(prefix));
+    }
+
+    // 캐시 미스 시 원격에서 읽어 기준 버전으로 삼을 수 있는 최대 파일 크기
+    public long getMaxFileBytes() {
+        return maxFileBytes;
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public static String hash(String content) {
+        return HexFormat.of().formatHex(JavaBuildCache.sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String key(String containerName, String path) {
+        // 경로 앞의 슬래시 유무가 달라도 같은 파일로 본다.
+        String normalized = path.startsWith("/") ? path : "/" + path;
+        return containerName + ":" + normalized.replaceAll("/{2,}", "/");
+    }
+}
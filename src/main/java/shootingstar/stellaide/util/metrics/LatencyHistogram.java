@@ -0,0 +1,84 @@
+package shootingstar.stellaide.util.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 버킷(밀리초) 기반의 지연 시간 히스토그램.
+ * 기록은 락 없이 원자 연산만 사용하므로 요청 경로에서 호출해도 부담이 적다.
+ */
+public class LatencyHistogram {
+    // 각 버킷의 상한(ms). 마지막 버킷 이후는 overflow 로 집계한다.
+    private static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long elapsed, TimeUnit unit) {
+        long nanos = unit.toNanos(elapsed);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int index = BOUNDS_MILLIS.length;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            if (millis < BOUNDS_MILLIS[i]) {
+                index = i;
+                break;
+            }
+        }
+        buckets.incrementAndGet(index);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        double mean = total == 0 ? 0 : (totalNanos.sum() / (double) count.sum()) / 1_000_000;
+        long maxMillis = (long) Math.ceil(maxNanos.get() / 1_000_000.0);
+        return new LatencySnapshot(
+                total,
+                mean,
+                percentile(counts, total, 0.50, maxMillis),
+                percentile(counts, total, 0.95, maxMillis),
+                percentile(counts, total, 0.99, maxMillis),
+                maxNanos.get() / 1_000_000.0,
+                bucketLabels(),
+                counts);
+    }
+
+    // 해당 백분위가 속한 버킷의 상한을 반환한다. 마지막 버킷이라면 최댓값을 반환한다.
+    private static long percentile(long[] counts, long total, double quantile, long maxMillis) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MILLIS.length ? Math.min(BOUNDS_MILLIS[i], maxMillis) : maxMillis;
+            }
+        }
+        return maxMillis;
+    }
+
+    private static String[] bucketLabels() {
+        String[] labels = new String[BOUNDS_MILLIS.length + 1];
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            labels[i] = "<" + BOUNDS_MILLIS[i] + "ms";
+        }
+        labels[BOUNDS_MILLIS.length] = ">=" + BOUNDS_MILLIS[BOUNDS_MILLIS.length - 1] + "ms";
+        return labels;
+    }
+}
@@ -0,0 +1,17 @@
+package shootingstar.stellaide.util.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LatencySnapshot {
+    private long count;
+    private double meanMillis;
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+    private double maxMillis;
+    private String[] buckets;
+    private long[] bucketCounts;
+}
@@ -0,0 +1,24 @@
+package shootingstar.stellaide.util.redis;
+
+import lombok.Getter;
+
+/**
+ * 레디스 키 공간. 하나의 레디스 서버에서 용도별 키를 접두사로 구분한다.
+ * JWT 키 공간은 루아 스크립트가 토큰, 사용자 목록, 무효화 목록을 함께 다루므로 해시 태그로 한 슬롯에 모은다.
+ */
+@Getter
+public enum RedisKeyspace {
+    JWT("{jwt}:"),
+    MAIL("mail:"),
+    LOGIN_LIST("login:");
+
+    private final String prefix;
+
+    RedisKeyspace(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String key(String key) {
+        return prefix + key;
+    }
+}
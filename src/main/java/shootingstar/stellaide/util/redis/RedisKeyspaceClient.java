@@ -0,0 +1,149 @@
+package shootingstar.stellaide.util.redis;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.util.metrics.LatencyHistogram;
+import shootingstar.stellaide.util.metrics.LatencySnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 키 공간(RedisKeyspace) 단위의 레디스 접근.
+ * 모든 키에 키 공간 접두사를 붙이고, 키 공간별로 명령 지연 시간을 기록한다.
+ * 확인 후 변경처럼 두 번 이상 주고받던 작업은 GETDEL, 루아 스크립트로 한 번에 원자적으로 처리한다.
+ */
+@Component
+public class RedisKeyspaceClient {
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    // 현재 값이 기대한 값일 때만 새 값과 만료 시간(ms)을 저장한다. 저장했으면 1, 아니면 0 을 돌려준다.
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1 " +
+                    "end return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<RedisKeyspace, LatencyHistogram> latencies = new EnumMap<>(RedisKeyspace.class);
+
+    public RedisKeyspaceClient(@Qualifier("redisTemplate") StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        for (RedisKeyspace keyspace : RedisKeyspace.values()) {
+            latencies.put(keyspace, new LatencyHistogram());
+        }
+    }
+
+    public void set(RedisKeyspace keyspace, String key, String value) {
+        timed(keyspace, () -> {
+            redisTemplate.opsForValue().set(keyspace.key(key), value);
+            return null;
+        });
+    }
+
+    public void setExpire(RedisKeyspace keyspace, String key, String value, long milliseconds) {
+        timed(keyspace, () -> {
+            redisTemplate.opsForValue().set(keyspace.key(key), value, milliseconds, TimeUnit.MILLISECONDS);
+            return null;
+        });
+    }
+
+    // 여러 키를 파이프라인으로 한 번에 저장한다.
+    public void setAllExpire(RedisKeyspace keyspace, Map<String, String> values, long milliseconds) {
+        Expiration expiration = Expiration.milliseconds(milliseconds);
+        timed(keyspace, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            values.forEach((key, value) -> connection.stringCommands().set(bytes(keyspace.key(key)), bytes(value),
+                    expiration, RedisStringCommands.SetOption.upsert()));
+            return null;
+        }));
+    }
+
+    public String get(RedisKeyspace keyspace, String key) {
+        return timed(keyspace, () -> redisTemplate.opsForValue().get(keyspace.key(key)));
+    }
+
+    // 값을 읽으면서 삭제한다(GETDEL). 한 번만 사용할 수 있는 값을 소비할 때 사용한다.
+    public String getAndDelete(RedisKeyspace keyspace, String key) {
+        return timed(keyspace, () -> redisTemplate.opsForValue().getAndDelete(keyspace.key(key)));
+    }
+
+    public boolean compareAndSet(RedisKeyspace keyspace, String key, String expected, String value, long milliseconds) {
+        Long result = timed(keyspace, () -> redisTemplate.execute(COMPARE_AND_SET, List.of(keyspace.key(key)),
+                expected, value, String.valueOf(milliseconds)));
+        return result != null && result == 1L;
+    }
+
+    public String hashGet(RedisKeyspace keyspace, String key, String field) {
+        return timed(keyspace, () -> redisTemplate.<String, String>opsForHash().get(keyspace.key(key), field));
+    }
+
+    public Set<String> rangeByScore(RedisKeyspace keyspace, String key, double min, double max) {
+        return timed(keyspace, () -> redisTemplate.opsForZSet().rangeByScore(keyspace.key(key), min, max));
+    }
+
+    // 키에 접두사를 붙여 루아 스크립트를 실행한다. 스크립트 안에서 만드는 키에는 keyspace.key() 로 얻은 접두사를 인자로 넘긴다.
+    public <T> T execute(RedisKeyspace keyspace, RedisScript<T> script, List<String> keys, String... args) {
+        List<String> prefixedKeys = keys.stream().map(keyspace::key).toList();
+        return timed(keyspace, () -> redisTemplate.execute(script, prefixedKeys, (Object[]) args));
+    }
+
+    public boolean hasKey(RedisKeyspace keyspace, String key) {
+        return timed(keyspace, () -> Boolean.TRUE.equals(redisTemplate.hasKey(keyspace.key(key))));
+    }
+
+    public void delete(RedisKeyspace keyspace, String key) {
+        timed(keyspace, () -> redisTemplate.unlink(keyspace.key(key)));
+    }
+
+    // 서버 전체를 비우지 않고 해당 키 공간의 키만 SCAN 으로 찾아 지운다.
+    public void deleteAll(RedisKeyspace keyspace) {
+        ScanOptions options = ScanOptions.scanOptions().match(keyspace.getPrefix() + "*").count(DELETE_BATCH_SIZE).build();
+        timed(keyspace, () -> redisTemplate.execute((RedisCallback<Void>) connection -> {
+            List<byte[]> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == DELETE_BATCH_SIZE) {
+                        connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+            return null;
+        }));
+    }
+
+    public Map<String, LatencySnapshot> getLatencySnapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        latencies.forEach((keyspace, histogram) -> snapshots.put(keyspace.name(), histogram.snapshot()));
+        return snapshots;
+    }
+
+    private <T> T timed(RedisKeyspace keyspace, Supplier<T> command) {
+        long startNanos = System.nanoTime();
+        try {
+            return command.get();
+        } finally {
+            latencies.get(keyspace).recordSince(startNanos);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,11 @@
+package shootingstar.stellaide.util.ssh;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RemoteFileStat {
+    private long size;
+    private long lastModifiedMillis;
+}
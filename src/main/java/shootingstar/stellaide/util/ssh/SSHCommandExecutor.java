@@ -0,0 +1,193 @@
+package shootingstar.stellaide.util.ssh;
+
+import com.jcraft.jsch.ChannelExec;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.util.NamedThreadFactory;
+import shootingstar.stellaide.util.metrics.LatencyHistogram;
+import shootingstar.stellaide.util.metrics.LatencySnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static shootingstar.stellaide.exception.ErrorCode.STORAGE_ERROR;
+
+/**
+ * 풀링된 SSH 세션 위에서 명령을 실행한다.
+ * 표준 출력과 표준 에러는 전용 스레드에서 블로킹 read 로 즉시 비워내고,
+ * 종료 코드가 도착하는 순간 CompletableFuture 를 완료한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SSHCommandExecutor {
+    private static final int BUFFER_SIZE = 8192;
+    // exit-status 를 기다리는 간격은 50µs 부터 두 배씩 늘려 최대 10ms, 전체 대기는 최대 5초로 제한한다.
+    private static final long EXIT_STATUS_MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long EXIT_STATUS_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long EXIT_STATUS_MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SSHSessionPool sshSessionPool;
+
+    private final ExecutorService drainExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("ssh-drain-"));
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    private void shutdown() {
+        drainExecutor.shutdownNow();
+    }
+
+    /**
+     * 명령을 비동기로 실행한다.
+     * @param operation 지연 시간 히스토그램을 구분하기 위한 명령 이름
+     */
+    public CompletableFuture<SSHCommandResult> submit(String operation, String command) {
+        long start = System.nanoTime();
+        SSHSessionLease lease = sshSessionPool.borrow();
+        try {
+            ChannelExec channel = lease.openExec();
+            channel.setCommand(command);
+
+            InputStream in = channel.getInputStream();
+            InputStream err = channel.getErrStream();
+            channel.connect();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ByteArrayOutputStream error = new ByteArrayOutputStream();
+
+            return CompletableFuture.allOf(drain(in, output), drain(err, error))
+                    .thenApply(ignored -> new SSHCommandResult(
+                            awaitExitStatus(channel),
+                            output.toString(StandardCharsets.UTF_8),
+                            error.toString(StandardCharsets.UTF_8)))
+                    .whenComplete((result, throwable) -> {
+                        lease.close();
+                        latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).recordSince(start);
+                    });
+        } catch (Exception e) {
+            lease.close();
+            log.info(e.getMessage());
+            throw new CustomException(STORAGE_ERROR);
+        }
+    }
+
+    // 명령을 실행하고 종료될 때까지 기다린다.
+    public SSHCommandResult execute(String operation, String command) {
+        try {
+            return submit(operation, command).join();
+        } catch (CompletionException e) {
+            log.info(e.getMessage());
+            throw new CustomException(STORAGE_ERROR);
+        }
+    }
+
+    /**
+     * 명령을 실행하며 출력이 생기는 즉시 리스너로 전달한다.
+     * 출력은 UTF-8 문자 단위로 끊어 전달하므로 멀티바이트 문자가 잘리지 않는다.
+     */
+    public SSHRunningCommand stream(String operation, String command, SSHOutputListener listener) {
+        long start = System.nanoTime();
+        SSHSessionLease lease = sshSessionPool.borrow();
+        try {
+            ChannelExec channel = lease.openExec();
+            channel.setCommand(command);
+
+            InputStream in = channel.getInputStream();
+            InputStream err = channel.getErrStream();
+            channel.connect();
+
+            SSHRunningCommand running = new SSHRunningCommand(channel);
+            CompletableFuture.allOf(
+                            drain(in, SSHOutputType.STDOUT, listener, running),
+                            drain(err, SSHOutputType.STDERR, listener, running))
+                    .handle((ignored, throwable) -> running.isCancelled() ? -1 : awaitExitStatus(channel))
+                    .whenComplete((exitStatus, throwable) -> {
+                        lease.close();
+                        latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).recordSince(start);
+                        running.complete(exitStatus == null ? -1 : exitStatus);
+                    });
+            return running;
+        } catch (Exception e) {
+            lease.close();
+            log.info(e.getMessage());
+            throw new CustomException(STORAGE_ERROR);
+        }
+    }
+
+    public Map<String, LatencySnapshot> getLatencySnapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> snapshots.put(operation, histogram.snapshot()));
+        return snapshots;
+    }
+
+    private CompletableFuture<Void> drain(InputStream in, ByteArrayOutputStream out) {
+        return CompletableFuture.runAsync(() -> {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, drainExecutor);
+    }
+
+    private CompletableFuture<Void> drain(InputStream in, SSHOutputType type, SSHOutputListener listener, SSHRunningCommand running) {
+        return CompletableFuture.runAsync(() -> {
+            char[] buffer = new char[BUFFER_SIZE];
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    listener.onOutput(type, new String(buffer, 0, read));
+                }
+            } catch (IOException e) {
+                // 취소로 채널이 닫힌 경우에도 여기로 들어온다.
+                if (!running.isCancelled()) {
+                    log.info("출력 스트림 읽기 실패 : {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.info("출력 전달 실패, 명령을 취소합니다 : {}", e.getMessage());
+                running.cancel();
+            }
+        }, drainExecutor);
+    }
+
+    /*
+      두 스트림 모두 EOF 에 도달했다면 원격 프로세스는 이미 종료된 상태이다.
+      exit-status 메시지는 EOF 직후 CLOSE 보다 먼저 도착하므로 대부분 첫 대기 안에 끝난다.
+      도착하지 않는 경우에도 스레드를 붙잡지 않도록 간격을 늘려 가며 기다리고, 제한 시간이 지나면 -1 을 돌려준다.
+     */
+    private static int awaitExitStatus(ChannelExec channel) {
+        long deadline = System.nanoTime() + EXIT_STATUS_MAX_WAIT_NANOS;
+        long parkNanos = EXIT_STATUS_MIN_PARK_NANOS;
+        while (channel.getExitStatus() == -1 && !channel.isClosed()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                log.info("exit-status 를 받지 못했습니다.");
+                break;
+            }
+            LockSupport.parkNanos(Math.min(parkNanos, remaining));
+            parkNanos = Math.min(parkNanos * 2, EXIT_STATUS_MAX_PARK_NANOS);
+        }
+        return channel.getExitStatus();
+    }
+}
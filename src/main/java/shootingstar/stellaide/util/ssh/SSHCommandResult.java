@@ -0,0 +1,16 @@
+package shootingstar.stellaide.util.ssh;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SSHCommandResult {
+    private final int exitStatus;
+    private final String output;
+    private final String error;
+
+    public boolean isSuccess() {
+        return exitStatus == 0;
+    }
+}
@@ -0,0 +1,10 @@
+package shootingstar.stellaide.util.ssh;
+
+/**
+ * 실행 중인 명령의 출력을 받는 리스너.
+ * 출력을 읽는 스레드에서 호출되며, 예외를 던지면 명령이 취소된다.
+ */
+@FunctionalInterface
+public interface SSHOutputListener {
+    void onOutput(SSHOutputType type, String chunk);
+}
@@ -0,0 +1,5 @@
+package shootingstar.stellaide.util.ssh;
+
+public enum SSHOutputType {
+    STDOUT, STDERR
+}
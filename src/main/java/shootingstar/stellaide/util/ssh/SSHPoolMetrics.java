@@ -0,0 +1,19 @@
+package shootingstar.stellaide.util.ssh;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SSHPoolMetrics {
+    private int totalSessions;
+    private int idleSessions;
+    private int activeChannels;
+    private int waitingThreads;
+    private long borrowCount;
+    private double averageBorrowWaitMillis;
+    private double maxBorrowWaitMillis;
+    private long createdSessions;
+    private long evictedSessions;
+    private long failedValidations;
+}
@@ -0,0 +1,45 @@
+package shootingstar.stellaide.util.ssh;
+
+import com.jcraft.jsch.ChannelExec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 출력을 스트리밍 중인 원격 명령의 핸들.
+ * completion 은 원격 프로세스의 종료 코드로 완료되며, 취소된 경우 -1 로 완료된다.
+ */
+@Slf4j
+public class SSHRunningCommand {
+    private final ChannelExec channel;
+    private final CompletableFuture<Integer> completion = new CompletableFuture<>();
+    private volatile boolean cancelled = false;
+
+    SSHRunningCommand(ChannelExec channel) {
+        this.channel = channel;
+    }
+
+    public CompletableFuture<Integer> getCompletion() {
+        return completion;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // 원격 프로세스에 KILL 시그널을 보내고 채널을 닫는다.
+    public void cancel() {
+        if (cancelled || completion.isDone()) return;
+        cancelled = true;
+        try {
+            channel.sendSignal("KILL");
+        } catch (Exception e) {
+            log.info("KILL 시그널 전송 실패 : {}", e.getMessage());
+        }
+        channel.disconnect();
+    }
+
+    void complete(int exitStatus) {
+        completion.complete(exitStatus);
+    }
+}
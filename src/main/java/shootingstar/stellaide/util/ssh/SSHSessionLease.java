@@ -0,0 +1,67 @@
+package shootingstar.stellaide.util.ssh;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 풀에서 빌려온 세션의 채널 슬롯 하나.
+ * try-with-resources 로 사용하며, 닫힐 때 열었던 채널을 모두 정리하고 세션을 풀에 반납한다.
+ * 비동기 실행의 완료 콜백에서도 닫히므로 채널 목록과 닫힘 여부는 여러 스레드에서 접근할 수 있다.
+ */
+public class SSHSessionLease implements AutoCloseable {
+    private final SSHSessionPool pool;
+    private final SSHSessionPool.PooledSession pooled;
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile boolean broken = false;
+
+    SSHSessionLease(SSHSessionPool pool, SSHSessionPool.PooledSession pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+    }
+
+    public ChannelExec openExec() throws JSchException {
+        return (ChannelExec) open("exec");
+    }
+
+    // 연결까지 완료된 sftp 채널을 반환한다.
+    public ChannelSftp openSftp() throws JSchException {
+        ChannelSftp channel = (ChannelSftp) open("sftp");
+        channel.connect();
+        return channel;
+    }
+
+    private Channel open(String type) throws JSchException {
+        try {
+            Channel channel = pooled.session.openChannel(type);
+            channels.add(channel);
+            // 이미 반납한 세션의 채널은 정리되지 않으므로 바로 닫는다.
+            if (closed.get()) {
+                channel.disconnect();
+                throw new IllegalStateException("session lease is already closed");
+            }
+            return channel;
+        } catch (JSchException e) {
+            // 세션이 끊어졌다면 반납 시 풀에서 제거한다.
+            if (!pooled.session.isConnected()) {
+                broken = true;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        for (Channel channel : channels) {
+            channel.disconnect();
+        }
+        pool.release(pooled, broken);
+    }
+}
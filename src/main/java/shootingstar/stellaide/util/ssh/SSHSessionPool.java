@@ -0,0 +1,395 @@
+package shootingstar.stellaide.util.ssh;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import shootingstar.stellaide.exception.CustomException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static shootingstar.stellaide.exception.ErrorCode.STORAGE_ERROR;
+
+/**
+ * 저장소 서버에 대한 인증된 SSH 세션 풀.
+ * 세션 하나에 여러 exec / sftp 채널을 동시에 열어 사용하며(채널 멀티플렉싱),
+ * 요청마다 TCP 연결, 키 교환, 패스워드 인증을 반복하지 않는다.
+ */
+@Slf4j
+@Component
+public class SSHSessionPool {
+
+    @Value("${storage.host}")
+    private String host;
+
+    @Value("${storage.name}")
+    private String username;
+
+    @Value("${storage.password}")
+    private String password;
+
+    @Value("${storage.pool.min-size:1}")
+    private int minSize;
+
+    @Value("${storage.pool.max-size:4}")
+    private int maxSize;
+
+    // sshd 의 MaxSessions(기본 10) 보다 작게 유지해야 한다.
+    @Value("${storage.pool.max-channels-per-session:8}")
+    private int maxChannelsPerSession;
+
+    @Value("${storage.pool.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${storage.pool.borrow-timeout:10000}")
+    private long borrowTimeout;
+
+    @Value("${storage.pool.idle-timeout:300000}")
+    private long idleTimeout;
+
+    @Value("${storage.pool.keepalive-interval:30000}")
+    private int keepaliveInterval;
+
+    @Value("${storage.pool.validation-interval:60000}")
+    private long validationInterval;
+
+    @Value("${storage.pool.validation-command:true}")
+    private String validationCommand;
+
+    private final JSch jsch = new JSch();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final List<PooledSession> sessions = new ArrayList<>();
+    private int pendingConnects = 0;
+    private int waitingThreads = 0;
+    private boolean closed = false;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalBorrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder createdSessions = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+    private final LongAdder failedValidations = new LongAdder();
+
+    @PostConstruct
+    private void init() {
+        // 저장소 서버가 잠시 내려가 있더라도 애플리케이션 기동은 막지 않는다.
+        ensureMinSize();
+    }
+
+    @PreDestroy
+    private void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (PooledSession pooled : sessions) {
+                pooled.session.disconnect();
+            }
+            sessions.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 채널 하나를 열 수 있는 세션을 빌려온다.
+     * 여유 채널이 있는 세션 중 가장 한가한 세션을 고르고, 없으면 최대 세션 수까지 새로 연결하며,
+     * 그마저도 불가능하면 borrow-timeout 동안 반납을 기다린다.
+     */
+    public SSHSessionLease borrow() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeout);
+
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new CustomException(STORAGE_ERROR);
+                }
+
+                PooledSession candidate = findLeastLoaded();
+                if (candidate != null) {
+                    return lease(candidate, start);
+                }
+
+                if (sessions.size() + pendingConnects < maxSize) {
+                    PooledSession created;
+                    pendingConnects++;
+                    lock.unlock();
+                    try {
+                        created = connect();
+                    } finally {
+                        lock.lock();
+                        pendingConnects--;
+                    }
+                    if (created == null) {
+                        released.signalAll();
+                        throw new CustomException(STORAGE_ERROR);
+                    }
+                    sessions.add(created);
+                    return lease(created, start);
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    log.info("SSH 세션 대기 시간 초과 : {}ms", borrowTimeout);
+                    throw new CustomException(STORAGE_ERROR);
+                }
+                waitingThreads++;
+                try {
+                    released.awaitNanos(remaining);
+                } finally {
+                    waitingThreads--;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(STORAGE_ERROR);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(PooledSession pooled, boolean broken) {
+        lock.lock();
+        try {
+            pooled.activeChannels--;
+            pooled.lastUsedAt = System.currentTimeMillis();
+            if (broken || !pooled.session.isConnected()) {
+                discard(pooled);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 유휴 세션 정리와 헬스 체크를 주기적으로 수행한다.
+     * - idle-timeout 을 넘긴 유휴 세션은 최소 세션 수를 넘는 만큼 연결을 끊는다.
+     * - validation-interval 이 지난 유휴 세션은 검증 명령을 실행해 보고 실패하면 폐기한다.
+     */
+    @Scheduled(fixedDelayString = "${storage.pool.maintenance-interval:30000}")
+    public void maintain() {
+        List<PooledSession> toValidate = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            if (closed) return;
+            Iterator<PooledSession> iterator = sessions.iterator();
+            while (iterator.hasNext()) {
+                PooledSession pooled = iterator.next();
+                if (!pooled.session.isConnected()) {
+                    if (pooled.activeChannels == 0) {
+                        iterator.remove();
+                        evictedSessions.increment();
+                    }
+                    continue;
+                }
+                if (pooled.activeChannels > 0) continue;
+
+                if (now - pooled.lastUsedAt > idleTimeout && sessions.size() > minSize) {
+                    iterator.remove();
+                    pooled.session.disconnect();
+                    evictedSessions.increment();
+                    log.info("유휴 SSH 세션 정리, 남은 세션 수 : {}", sessions.size());
+                } else if (now - pooled.lastValidatedAt > validationInterval) {
+                    // 검증하는 동안 다른 요청이 빌려가지 않도록 채널 하나를 점유한다.
+                    pooled.activeChannels++;
+                    toValidate.add(pooled);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledSession pooled : toValidate) {
+            boolean valid = validate(pooled.session);
+            if (!valid) {
+                failedValidations.increment();
+                log.info("SSH 세션 검증 실패, 세션을 폐기합니다.");
+            }
+            lock.lock();
+            try {
+                pooled.activeChannels--;
+                if (valid) {
+                    pooled.lastValidatedAt = System.currentTimeMillis();
+                } else {
+                    discard(pooled);
+                }
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ensureMinSize();
+    }
+
+    public SSHPoolMetrics getMetrics() {
+        lock.lock();
+        try {
+            int idle = 0;
+            int activeChannels = 0;
+            for (PooledSession pooled : sessions) {
+                if (pooled.activeChannels == 0) idle++;
+                activeChannels += pooled.activeChannels;
+            }
+            long borrows = borrowCount.sum();
+            double averageWait = borrows == 0 ? 0 : (totalBorrowWaitNanos.sum() / (double) borrows) / 1_000_000;
+            return new SSHPoolMetrics(
+                    sessions.size(),
+                    idle,
+                    activeChannels,
+                    waitingThreads,
+                    borrows,
+                    averageWait,
+                    maxBorrowWaitNanos.get() / 1_000_000.0,
+                    createdSessions.sum(),
+                    evictedSessions.sum(),
+                    failedValidations.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SSHSessionLease lease(PooledSession pooled, long start) {
+        pooled.activeChannels++;
+        pooled.lastUsedAt = System.currentTimeMillis();
+
+        long waited = System.nanoTime() - start;
+        borrowCount.increment();
+        totalBorrowWaitNanos.add(waited);
+        maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+        return new SSHSessionLease(this, pooled);
+    }
+
+    private PooledSession findLeastLoaded() {
+        PooledSession best = null;
+        Iterator<PooledSession> iterator = sessions.iterator();
+        while (iterator.hasNext()) {
+            PooledSession pooled = iterator.next();
+            if (!pooled.session.isConnected()) {
+                if (pooled.activeChannels == 0) {
+                    iterator.remove();
+                    evictedSessions.increment();
+                }
+                continue;
+            }
+            if (pooled.activeChannels >= maxChannelsPerSession) continue;
+            if (best == null || pooled.activeChannels < best.activeChannels) {
+                best = pooled;
+            }
+        }
+        return best;
+    }
+
+    private void discard(PooledSession pooled) {
+        if (sessions.remove(pooled)) {
+            evictedSessions.increment();
+        }
+        pooled.session.disconnect();
+    }
+
+    private void ensureMinSize() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || sessions.size() + pendingConnects >= minSize) return;
+                pendingConnects++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledSession created = connect();
+
+            lock.lock();
+            try {
+                pendingConnects--;
+                if (created == null) return;
+                if (closed) {
+                    created.session.disconnect();
+                    return;
+                }
+                sessions.add(created);
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private PooledSession connect() {
+        try {
+            Session session = jsch.getSession(username, host, 22);
+            session.setPassword(password);
+
+            Properties config = new Properties();
+            config.put("StrictHostKeyChecking", "no"); // 호스트 키 검증 생략
+            session.setConfig(config);
+            session.setServerAliveInterval(keepaliveInterval);
+            session.setServerAliveCountMax(3);
+
+            session.connect(connectTimeout);
+            createdSessions.increment();
+            log.info("SSH 세션 연결 : {}", host);
+            return new PooledSession(session);
+        } catch (JSchException e) {
+            log.info("SSH 세션 연결 실패 : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean validate(Session session) {
+        ChannelExec channel = null;
+        try {
+            session.sendKeepAliveMsg();
+            channel = (ChannelExec) session.openChannel("exec");
+            channel.setCommand(validationCommand);
+            channel.connect(connectTimeout);
+
+            long deadline = System.currentTimeMillis() + connectTimeout;
+            while (!channel.isClosed()) {
+                if (System.currentTimeMillis() > deadline) return false;
+                Thread.sleep(10);
+            }
+            return channel.getExitStatus() == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            if (channel != null) channel.disconnect();
+        }
+    }
+
+    static class PooledSession {
+        final Session session;
+        int activeChannels = 0;
+        long lastUsedAt;
+        long lastValidatedAt;
+
+        PooledSession(Session session) {
+            this.session = session;
+            this.lastUsedAt = System.currentTimeMillis();
+            this.lastValidatedAt = this.lastUsedAt;
+        }
+    }
+}
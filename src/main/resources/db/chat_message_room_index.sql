@@ -0,0 +1,4 @@
+-- 채팅 내역 커서 조회((채팅방, 메시지 고유번호) 역순 범위 조회)용 복합 인덱스
+-- ddl-auto 가 none 이므로 엔티티의 @Index 선언만으로는 만들어지지 않는다. 배포 전에 한 번 실행한다.
+CREATE INDEX idx_container_chat_room_message_room ON container_chat_room_message (chat_room_id, message_id);
+CREATE INDEX idx_direct_chat_room_message_room ON direct_chat_room_message (dm_chat_room_id, message_id);
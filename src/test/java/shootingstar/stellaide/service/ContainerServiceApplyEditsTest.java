@@ -0,0 +1,91 @@
+package shootingstar.stellaide.service;
+
+import org.junit.jupiter.api.Test;
+import shootingstar.stellaide.controller.dto.container.FileEditDto;
+import shootingstar.stellaide.exception.CustomException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static shootingstar.stellaide.exception.ErrorCode.INCORRECT_FORMAT_FILE_EDIT;
+
+class ContainerServiceApplyEditsTest {
+
+    @Test
+    public void offsetsAreUtf16Units() {
+        //given
+        // 이모지는 UTF-16 두 글자(서로게이트 쌍)이므로 "😀" 뒤의 "세계" 는 offset 6 부터 시작한다.
+        String base = "안녕 😀 세계";
+
+        //when
+        String result = ContainerService.applyEdits(base, List.of(edit(6, 2, "world")));
+
+        //then
+        assertEquals("안녕 😀 world", result);
+    }
+
+    @Test
+    public void editsAreAppliedAgainstBaseRegardlessOfOrder() {
+        //given
+        String base = "int a = 1;\nint b = 2;\n";
+
+        //when
+        String result = ContainerService.applyEdits(base, List.of(
+                edit(19, 1, "20"),
+                edit(0, 3, "long"),
+                edit(8, 1, "10")));
+
+        //then
+        assertEquals("long a = 10;\nint b = 20;\n", result);
+    }
+
+    @Test
+    public void adjacentEditsAndInsertAtEnd() {
+        //given
+        String base = "abc";
+
+        //when
+        String result = ContainerService.applyEdits(base, List.of(
+                edit(0, 1, "A"),
+                edit(1, 1, "B"),
+                edit(3, 0, "!")));
+
+        //then
+        assertEquals("ABc!", result);
+    }
+
+    @Test
+    public void overlappingEditsAreRejected() {
+        //given
+        String base = "hello world";
+
+        //when
+        CustomException exception = assertThrows(CustomException.class, () ->
+                ContainerService.applyEdits(base, List.of(edit(0, 5, "bye"), edit(3, 4, "p"))));
+
+        //then
+        assertEquals(INCORRECT_FORMAT_FILE_EDIT, exception.getErrorCode());
+    }
+
+    @Test
+    public void outOfRangeEditsAreRejected() {
+        //given
+        String base = "hello";
+
+        //when //then
+        assertEquals(INCORRECT_FORMAT_FILE_EDIT, assertThrows(CustomException.class, () ->
+                ContainerService.applyEdits(base, List.of(edit(3, 3, "")))).getErrorCode());
+        assertEquals(INCORRECT_FORMAT_FILE_EDIT, assertThrows(CustomException.class, () ->
+                ContainerService.applyEdits(base, List.of(edit(6, 0, "!")))).getErrorCode());
+        assertEquals(INCORRECT_FORMAT_FILE_EDIT, assertThrows(CustomException.class, () ->
+                ContainerService.applyEdits(base, List.of(edit(1, Integer.MAX_VALUE, "")))).getErrorCode());
+    }
+
+    private static FileEditDto edit(int offset, int length, String text) {
+        FileEditDto edit = new FileEditDto();
+        edit.setOffset(offset);
+        edit.setLength(length);
+        edit.setText(text);
+        return edit;
+    }
+}
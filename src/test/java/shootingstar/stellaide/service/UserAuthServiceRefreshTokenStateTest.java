@@ -0,0 +1,88 @@
+package shootingstar.stellaide.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.security.jwt.JwtTokenProvider;
+import shootingstar.stellaide.security.jwt.TokenRevocationList;
+import shootingstar.stellaide.util.JwtRedisUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static shootingstar.stellaide.exception.ErrorCode.INVALID_REFRESH_TOKEN;
+
+@ExtendWith(MockitoExtension.class)
+class UserAuthServiceRefreshTokenStateTest {
+
+    private static final String TOKEN = "refresh-token";
+    private static final String TOKEN_ID = "jti";
+
+    @Mock
+    private JwtRedisUtil jwtRedisUtil;
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @InjectMocks
+    private UserAuthService userAuthService;
+
+    @Test
+    public void revokedInHashButNotInRevokedSet() {
+        //given
+        when(jwtTokenProvider.getRefreshTokenId(TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenRevocationList.isRevoked(TOKEN_ID)).thenReturn(false);
+        when(jwtRedisUtil.isActiveRefreshToken(TOKEN)).thenReturn(false);
+
+        //when
+        boolean active = userAuthService.checkRefreshTokenState(TOKEN);
+
+        //then
+        assertFalse(active);
+    }
+
+    @Test
+    public void revokedInRevokedSetSkipsHashLookup() {
+        //given
+        when(jwtTokenProvider.getRefreshTokenId(TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenRevocationList.isRevoked(TOKEN_ID)).thenReturn(true);
+
+        //when
+        boolean active = userAuthService.checkRefreshTokenState(TOKEN);
+
+        //then
+        assertFalse(active);
+        verifyNoInteractions(jwtRedisUtil);
+    }
+
+    @Test
+    public void tokenWithoutRecordIsInvalid() {
+        //given
+        when(jwtTokenProvider.getRefreshTokenId(TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenRevocationList.isRevoked(TOKEN_ID)).thenReturn(false);
+        when(jwtRedisUtil.isActiveRefreshToken(TOKEN)).thenReturn(null);
+
+        //when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> userAuthService.checkRefreshTokenState(TOKEN));
+
+        //then
+        assertEquals(INVALID_REFRESH_TOKEN, exception.getErrorCode());
+    }
+
+    @Test
+    public void activeTokenWithRecord() {
+        //given
+        when(jwtTokenProvider.getRefreshTokenId(TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenRevocationList.isRevoked(TOKEN_ID)).thenReturn(false);
+        when(jwtRedisUtil.isActiveRefreshToken(TOKEN)).thenReturn(true);
+
+        //when
+        boolean active = userAuthService.checkRefreshTokenState(TOKEN);
+
+        //then
+        assertTrue(active);
+    }
+}
@@ -0,0 +1,79 @@
+package shootingstar.stellaide.util;
+
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static shootingstar.stellaide.util.redis.RedisKeyspace.JWT;
+
+@SpringBootTest
+class JwtRedisUtilTest {
+
+    @Autowired
+    private JwtRedisUtil jwtRedisUtil;
+
+    @Autowired
+    @Qualifier("redisTemplate")
+    private StringRedisTemplate redisTemplate;
+
+    @PostConstruct
+    public void clean() {
+        jwtRedisUtil.deleteAll();
+    }
+
+    @Test
+    public void revokeAlreadyRevokedToken() throws Exception {
+        //given
+        String userId = UUID.randomUUID().toString();
+        long expireTime = System.currentTimeMillis() + 60_000;
+        jwtRedisUtil.saveRefreshToken("refresh-token", "token-id", userId, expireTime);
+
+        //when
+        JwtRedisUtil.RevokedToken first = jwtRedisUtil.revokeRefreshToken("refresh-token");
+        JwtRedisUtil.RevokedToken second = jwtRedisUtil.revokeRefreshToken("refresh-token");
+
+        //then
+        assertThat(first.getTokenId()).isEqualTo("token-id");
+        assertThat(first.getExpireTime()).isEqualTo(expireTime);
+        assertThat(second.getTokenId()).isEqualTo("token-id");
+        assertThat(second.getExpireTime()).isEqualTo(expireTime);
+        assertThat(jwtRedisUtil.isActiveRefreshToken("refresh-token")).isFalse();
+        assertThat(jwtRedisUtil.findActiveRefreshTokens(userId)).isEmpty();
+        assertThat(redisTemplate.opsForZSet().score(JWT.key(JwtRedisUtil.REVOKED_TOKENS), "token-id"))
+                .isEqualTo((double) expireTime);
+    }
+
+    @Test
+    public void revokeUnknownToken() throws Exception {
+        //when //then
+        assertThat(jwtRedisUtil.revokeRefreshToken("unknown-token")).isNull();
+        assertThat(jwtRedisUtil.isActiveRefreshToken("unknown-token")).isNull();
+    }
+
+    @Test
+    public void revokeAllSkipsAlreadyRevokedTokens() throws Exception {
+        //given
+        String userId = UUID.randomUUID().toString();
+        long expireTime = System.currentTimeMillis() + 60_000;
+        jwtRedisUtil.saveRefreshToken("refresh-token-1", "token-id-1", userId, expireTime);
+        jwtRedisUtil.saveRefreshToken("refresh-token-2", "token-id-2", userId, expireTime);
+        jwtRedisUtil.revokeRefreshToken("refresh-token-1");
+
+        //when
+        List<JwtRedisUtil.RevokedToken> revoked = jwtRedisUtil.revokeAllRefreshTokens(userId);
+
+        //then
+        assertThat(revoked).extracting(JwtRedisUtil.RevokedToken::getTokenId).containsExactly("token-id-2");
+        assertThat(jwtRedisUtil.isActiveRefreshToken("refresh-token-1")).isFalse();
+        assertThat(jwtRedisUtil.isActiveRefreshToken("refresh-token-2")).isFalse();
+        assertThat(redisTemplate.opsForZSet().score(JWT.key(JwtRedisUtil.REVOKED_TOKENS), "token-id-2"))
+                .isEqualTo((double) expireTime);
+    }
+}
@@ -0,0 +1,53 @@
+package shootingstar.stellaide.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    public void containsEveryInsertedValue() {
+        //given
+        BloomFilter filter = new BloomFilter(10000, 0.001);
+        String[] values = new String[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        //when //then
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    public void falsePositiveRateStaysNearTarget() {
+        //given
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("active-" + i)) falsePositives++;
+        }
+
+        //then
+        assertTrue(falsePositives < 100000 * 0.02, "false positives : " + falsePositives);
+    }
+
+    @Test
+    public void emptyFilterContainsNothing() {
+        //given
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        //when //then
+        assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+    }
+}
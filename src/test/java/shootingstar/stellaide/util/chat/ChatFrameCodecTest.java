@@ -0,0 +1,52 @@
+package shootingstar.stellaide.util.chat;
+
+import org.junit.jupiter.api.Test;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+import shootingstar.stellaide.entity.chat.MessageType;
+import shootingstar.stellaide.exception.CustomException;
+import shootingstar.stellaide.service.dto.ChatRoomMessageDto;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatFrameCodecTest {
+
+    @Test
+    public void encodeAndDecode() {
+        //given
+        ChatRoomMessageDto message = new ChatRoomMessageDto(MessageType.TALK, 12L, "별똥별", "안녕하세요 hello", ChatRoomType.CONTAINER);
+
+        //when
+        ChatRoomMessageDto decoded = ChatFrameCodec.decode(ByteBuffer.wrap(ChatFrameCodec.encode(message)));
+
+        //then
+        assertEquals(message, decoded);
+    }
+
+    @Test
+    public void encodeAndDecodeNullFields() {
+        //given
+        ChatRoomMessageDto message = new ChatRoomMessageDto(MessageType.ENTER, null, null, null, ChatRoomType.GLOBAL);
+
+        //when
+        ChatRoomMessageDto decoded = ChatFrameCodec.decode(ByteBuffer.wrap(ChatFrameCodec.encode(message)));
+
+        //then
+        assertEquals(message, decoded);
+    }
+
+    @Test
+    public void rejectMalformedFrame() {
+        //given
+        byte[] frame = ChatFrameCodec.encode(new ChatRoomMessageDto(MessageType.TALK, 1L, "sender", "msg", ChatRoomType.DM));
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 1);
+        byte[] unknownVersion = frame.clone();
+        unknownVersion[0] = 9;
+
+        //then
+        assertThrows(CustomException.class, () -> ChatFrameCodec.decode(ByteBuffer.wrap(truncated)));
+        assertThrows(CustomException.class, () -> ChatFrameCodec.decode(ByteBuffer.wrap(unknownVersion)));
+    }
+}
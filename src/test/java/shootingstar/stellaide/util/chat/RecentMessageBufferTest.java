@@ -0,0 +1,121 @@
+package shootingstar.stellaide.util.chat;
+
+import org.junit.jupiter.api.Test;
+import shootingstar.stellaide.entity.chat.ChatRoomType;
+import shootingstar.stellaide.entity.chat.MessageType;
+import shootingstar.stellaide.service.dto.ChatHistoryResDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentMessageBufferTest {
+    private static final ChatRoomKey ROOM = new ChatRoomKey(ChatRoomType.CONTAINER, 1L);
+
+    @Test
+    public void keepsLatestMessagesAfterWrapAround() {
+        //given
+        RecentMessageBuffer buffer = new RecentMessageBuffer(3, 1_000_000);
+        for (long id = 1; id <= 5; id++) {
+            buffer.append(ROOM, message(id, "user", "message " + id));
+        }
+
+        //when
+        ChatHistoryResDto<RecentMessage> latest = buffer.getLatest(ROOM, 2);
+
+        //then
+        assertEquals(List.of(4L, 5L), ids(latest));
+        assertTrue(latest.isHasMore());
+        assertEquals(4L, latest.getNextBeforeMessageId());
+    }
+
+    @Test
+    public void fallsBackWhenOldestMessageIsNotPersisted() {
+        //given
+        RecentMessageBuffer buffer = new RecentMessageBuffer(3, 1_000_000);
+        buffer.append(ROOM, message(null, "user", "a"));
+        buffer.append(ROOM, message(null, "user", "b"));
+        buffer.append(ROOM, message(null, "user", "c"));
+
+        //when //then
+        assertNull(buffer.getLatest(ROOM, 3));
+    }
+
+    @Test
+    public void servesCompleteHistoryAfterSeed() {
+        //given
+        RecentMessageBuffer buffer = new RecentMessageBuffer(3, 1_000_000);
+        buffer.seed(ROOM, List.of(message(1L, "user", "a"), message(2L, "user", "b")));
+
+        //when
+        ChatHistoryResDto<RecentMessage> latest = buffer.getLatest(ROOM, 10);
+
+        //then
+        assertEquals(List.of(1L, 2L), ids(latest));
+        assertFalse(latest.isHasMore());
+    }
+
+    @Test
+    public void seedKeepsMessagesAppendedAfterPersistedOnes() {
+        //given
+        RecentMessageBuffer buffer = new RecentMessageBuffer(10, 1_000_000);
+        buffer.append(ROOM, message(3L, "user", "c"));
+        buffer.append(ROOM, message(null, "user", "d"));
+
+        //when
+        buffer.seed(ROOM, List.of(message(1L, "user", "a"), message(2L, "user", "b"), message(3L, "user", "c")));
+
+        //then
+        assertEquals(List.of("a", "b", "c", "d"), texts(buffer.getLatest(ROOM, 10)));
+    }
+
+    @Test
+    public void seedDropsRemoteMessagesAlreadyPersisted() {
+        //given
+        RecentMessageBuffer buffer = new RecentMessageBuffer(10, 1_000_000);
+        buffer.append(ROOM, remote("other", "hi"));
+        buffer.append(ROOM, remote("other", "not flushed yet"));
+
+        //when
+        buffer.seed(ROOM, List.of(message(1L, "user", "a"), message(2L, "other", "hi")));
+
+        //then
+        ChatHistoryResDto<RecentMessage> latest = buffer.getLatest(ROOM, 10);
+        assertEquals(List.of("a", "hi", "not flushed yet"), texts(latest));
+        assertEquals(2L, latest.getMessages().get(1).getMessageId());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedRoomOverMaxBytes() {
+        //given
+        ChatRoomKey otherRoom = new ChatRoomKey(ChatRoomType.DM, 2L);
+        RecentMessage first = message(1L, "user", "a");
+        RecentMessageBuffer buffer = new RecentMessageBuffer(10, first.weight() * 2);
+        buffer.append(ROOM, first);
+        buffer.append(otherRoom, message(2L, "user", "b"));
+
+        //when
+        buffer.append(otherRoom, message(3L, "user", "c"));
+
+        //then
+        assertNull(buffer.getLatest(ROOM, 1));
+        assertEquals(List.of(2L, 3L), ids(buffer.getLatest(otherRoom, 2)));
+    }
+
+    private static RecentMessage message(Long id, String sender, String text) {
+        return new RecentMessage(id, sender, text, MessageType.TALK, LocalDateTime.now());
+    }
+
+    private static RecentMessage remote(String sender, String text) {
+        return RecentMessage.fromRemote(sender, text, MessageType.TALK, LocalDateTime.now());
+    }
+
+    private static List<Long> ids(ChatHistoryResDto<RecentMessage> history) {
+        return history.getMessages().stream().map(RecentMessage::getMessageId).toList();
+    }
+
+    private static List<String> texts(ChatHistoryResDto<RecentMessage> history) {
+        return history.getMessages().stream().map(RecentMessage::getMessage).toList();
+    }
+}
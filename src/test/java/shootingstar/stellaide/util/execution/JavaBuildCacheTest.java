@@ -0,0 +1,136 @@
+package shootingstar.stellaide.util.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaBuildCacheTest {
+    private static final String CONTAINER = "container";
+
+    @Test
+    public void firstBuildIsFull() {
+        //given
+        JavaBuildCache cache = new JavaBuildCache();
+
+        //when
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.FULL, plan.getMode());
+    }
+
+    @Test
+    public void noChangesAfterSuccessfulBuild() {
+        //given
+        JavaBuildCache cache = builtCache();
+
+        //when
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.NONE, plan.getMode());
+        assertTrue(plan.getFiles().isEmpty());
+    }
+
+    @Test
+    public void changedSourcesAreBuiltIncrementally() {
+        //given
+        JavaBuildCache cache = builtCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = 2; }");
+        cache.recordSave(CONTAINER, "src/util/Util.java", "class Util {}");
+        cache.recordSave(CONTAINER, "/README.md", "not compiled");
+
+        //when
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.INCREMENTAL, plan.getMode());
+        assertEquals(Set.of("/src/Main.java", "/src/util/Util.java"), plan.getFiles().keySet());
+    }
+
+    @Test
+    public void savingSameContentIsNotAChange() {
+        //given
+        JavaBuildCache cache = new JavaBuildCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main {}");
+        cache.complete(cache.plan(CONTAINER), true);
+
+        //when
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main {}");
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.NONE, cache.plan(CONTAINER).getMode());
+    }
+
+    @Test
+    public void structureChangeForcesFullBuild() {
+        //given
+        JavaBuildCache cache = builtCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = 2; }");
+
+        //when
+        cache.recordStructureChange(CONTAINER);
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+        cache.complete(plan, true);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.FULL, plan.getMode());
+        assertEquals(JavaBuildPlan.Mode.NONE, cache.plan(CONTAINER).getMode());
+    }
+
+    @Test
+    public void structureChangeDuringBuildKeepsFullBuild() {
+        //given
+        JavaBuildCache cache = builtCache();
+        cache.recordStructureChange(CONTAINER);
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //when
+        cache.recordStructureChange(CONTAINER);
+        cache.complete(plan, true);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.FULL, cache.plan(CONTAINER).getMode());
+    }
+
+    @Test
+    public void sourceSavedDuringBuildStaysDirty() {
+        //given
+        JavaBuildCache cache = builtCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = 2; }");
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //when
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = 3; }");
+        cache.complete(plan, true);
+
+        //then
+        JavaBuildPlan next = cache.plan(CONTAINER);
+        assertEquals(JavaBuildPlan.Mode.INCREMENTAL, next.getMode());
+        assertEquals(Set.of("/src/Main.java"), next.getFiles().keySet());
+    }
+
+    @Test
+    public void failedBuildKeepsChanges() {
+        //given
+        JavaBuildCache cache = builtCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = }");
+        JavaBuildPlan plan = cache.plan(CONTAINER);
+
+        //when
+        cache.complete(plan, false);
+
+        //then
+        assertEquals(JavaBuildPlan.Mode.INCREMENTAL, cache.plan(CONTAINER).getMode());
+    }
+
+    // 전체 빌드를 한 번 마친 상태의 캐시
+    private static JavaBuildCache builtCache() {
+        JavaBuildCache cache = new JavaBuildCache();
+        cache.recordSave(CONTAINER, "/src/Main.java", "class Main { int a = 1; }");
+        cache.complete(cache.plan(CONTAINER), true);
+        return cache;
+    }
+}